@@ -0,0 +1,67 @@
+package frc.robot.auto;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import jaci.pathfinder.Pathfinder;
+import jaci.pathfinder.Trajectory;
+import jaci.pathfinder.Waypoint;
+
+/**
+ * Compares Pathfinder with HolonomicTrajectoryGenerator on the Waypoints of every AutoPath: Pathfinder.generate alone,
+ * Pathfinder with SwerveModifier as SwerveTrajectoryGenerator uses it, and HolonomicTrajectoryGenerator, which outputs
+ * the module trajectories directly. The holonomic paths keep the heading at 0 so both do the same work.
+ *
+ * Pathfinder generates trajectories in its native library, so the desktop build of it must be on java.library.path.
+ *
+ * @since 10/16/26
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TrajectoryGeneratorBenchmark {
+    @Param({"FORWARD", "RIGHT_AND_UP", "FORWARD_AND_TURN"})
+    private AutoPaths path;
+
+    private Waypoint[] waypoints;
+    private double[] headings;
+    private int timeDur;
+    private Trajectory.Config config;
+
+    @Setup
+    public void setup() {
+        waypoints = path.getWaypoints();
+        headings = new double[waypoints.length];
+        timeDur = path.getTimeDur();
+        config = SwerveTrajectoryGenerator.createConfig(timeDur);
+    }
+
+    @Benchmark
+    public Trajectory pathfinderGenerate() {
+        return Pathfinder.generate(waypoints, config);
+    }
+
+    @Benchmark
+    public ModuleTrajectorySet pathfinderSwerve() {
+        return SwerveTrajectoryGenerator.generate(waypoints, timeDur);
+    }
+
+    @Benchmark
+    public HolonomicTrajectory holonomic() {
+        return HolonomicTrajectoryGenerator.generate(waypoints, headings, timeDur);
+    }
+}
@@ -0,0 +1,104 @@
+package frc.robot.commands;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.ctre.phoenix.motion.TrajectoryPoint;
+
+import frc.robot.auto.ModuleTrajectorySet;
+import frc.robot.subsystems.Drivetrain;
+import frc.robot.util.hardware.Hardware;
+import harkerrobolib.util.Conversions;
+import jaci.pathfinder.Trajectory;
+import jaci.pathfinder.Trajectory.Segment;
+
+/**
+ * Measures the work SwerveDriveWithMotionProfile does for one path: copying Pathfinder trajectories into a
+ * ModuleTrajectorySet and unwrapping the module angles, both done once in the background, and creating every point
+ * of one module's profiles, which MotionProfileFeeder spreads over the run of the profile.
+ * 
+ * The trajectory is built directly from Segments so the benchmark does not depend on Pathfinder's generator.
+ * SmartDashboard is backed by the WPILib natives, so the desktop build of them must be on java.library.path.
+ * 
+ * @since 10/16/26
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MotionProfileStreamBenchmark {
+    private static final double DT = 0.01;
+
+    /**
+     * Number of segments, 300 segments is a 3 second path at 10 ms per segment
+     */
+    @Param({"100", "300", "1000"})
+    private int length;
+
+    private Trajectory[] trajectories;
+    private ModuleTrajectorySet trajectorySet;
+    private double currentAngle;
+    private double[] angles;
+    private TrajectoryPoint point;
+
+    @Setup
+    public void setup() {
+        Hardware.setSimulated(true);
+        Conversions.setWheelDiameter(4);
+
+        Segment[] segments = new Segment[length];
+        double position = 0;
+        for (int i = 0; i < length; i++) {
+            double velocity = Math.min(i, length - i) * DT;
+            double heading = Math.PI * i / length;
+            position += velocity * DT;
+            segments[i] = new Segment(DT, Math.cos(heading) * position, Math.sin(heading) * position, position, velocity, 0, 0, heading);
+        }
+        Trajectory trajectory = new Trajectory(segments);
+        trajectories = new Trajectory[] {trajectory, trajectory, trajectory, trajectory};
+        trajectorySet = ModuleTrajectorySet.fromTrajectories(trajectories);
+        currentAngle = 45;
+        angles = SwerveDriveWithMotionProfile.unwrapAngles(trajectorySet);
+        point = new TrajectoryPoint();
+    }
+
+    @Benchmark
+    public ModuleTrajectorySet createTrajectorySet() {
+        return ModuleTrajectorySet.fromTrajectories(trajectories);
+    }
+
+    @Benchmark
+    public TrajectoryPoint createDrivePoints() {
+        for (int i = 0; i < trajectorySet.length(); i++) {
+            SwerveDriveWithMotionProfile.getDrivePoint(trajectorySet, Drivetrain.TOP_LEFT, i, 0, point);
+        }
+        return point;
+    }
+
+    @Benchmark
+    public double[] unwrapAngles() {
+        return SwerveDriveWithMotionProfile.unwrapAngles(trajectorySet);
+    }
+
+    @Benchmark
+    public TrajectoryPoint createAnglePoints() {
+        double offset = SwerveDriveWithMotionProfile.getAngleOffset(angles, trajectorySet.length(), Drivetrain.TOP_LEFT, currentAngle);
+        for (int i = 0; i < trajectorySet.length(); i++) {
+            SwerveDriveWithMotionProfile.getAnglePoint(trajectorySet, angles, Drivetrain.TOP_LEFT, i, offset, point);
+        }
+        return point;
+    }
+}
@@ -0,0 +1,43 @@
+package frc.robot.subsystems;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures Drivetrain.convertAngle(), including modules that have wound up several turns away from zero.
+ * 
+ * @since 10/16/26
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DrivetrainBenchmark {
+    @Param({"0", "1800"})
+    private double currentAngle;
+
+    private double targetAngle;
+
+    @Setup
+    public void setup() {
+        targetAngle = 275;
+    }
+
+    @Benchmark
+    public double convertAngle() {
+        return Drivetrain.convertAngle(currentAngle, targetAngle);
+    }
+}
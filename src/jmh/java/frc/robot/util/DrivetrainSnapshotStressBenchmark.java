@@ -0,0 +1,142 @@
+package frc.robot.util;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import frc.robot.util.hardware.Hardware;
+import frc.robot.util.hardware.SimulatedPigeon;
+import frc.robot.util.hardware.SimulatedTalon;
+
+/**
+ * Stress tests publishing DrivetrainSnapshots between threads: one thread samples as fast as it can
+ * while three others read.
+ *
+ * Every sample sets all sensors to the same value as the timestamp, so a consistent read has every field equal.
+ * The seqLock group copies with DrivetrainSnapshot.copyTo() and fails the benchmark on any torn read.
+ * The unsynchronized group reads the published snapshot's getters directly and counts its torn reads,
+ * to show the benchmark produces the races copyTo() has to survive.
+ *
+ * @since 10/16/26
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DrivetrainSnapshotStressBenchmark {
+    //Sensor values are ints on the Talons, wrap before they overflow
+    private static final int VALUE_MASK = (1 << 30) - 1;
+
+    @State(Scope.Group)
+    public static class Published {
+        private SwerveModule[] modules;
+        private SimulatedTalon[] talons;
+        private SimulatedPigeon pigeon;
+        private DrivetrainSnapshot snapshot;
+        private int value;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            Hardware.setSimulated(true);
+            modules = new SwerveModule[SwerveKinematics.MODULE_COUNT];
+            talons = new SimulatedTalon[2 * SwerveKinematics.MODULE_COUNT];
+            for (int i = 0; i < SwerveKinematics.MODULE_COUNT; i++) {
+                SimulatedTalon drive = new SimulatedTalon(1);
+                SimulatedTalon angle = new SimulatedTalon(1);
+                modules[i] = new SwerveModule(drive, false, false, angle, false, false);
+                talons[2 * i] = drive;
+                talons[2 * i + 1] = angle;
+            }
+            pigeon = new SimulatedPigeon();
+            snapshot = new DrivetrainSnapshot();
+        }
+
+        private void sample() {
+            value = (value + 1) & VALUE_MASK;
+            for (SimulatedTalon talon : talons) {
+                talon.setSensorState(value, value, value);
+            }
+            pigeon.setFusedHeading(value);
+            snapshot.sample(modules, pigeon, value);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Copy {
+        private final DrivetrainSnapshot snapshot = new DrivetrainSnapshot();
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class TornReads {
+        public long tornReads;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            tornReads = 0;
+        }
+    }
+
+    @Benchmark
+    @Group("seqLock")
+    @GroupThreads(1)
+    public void seqLockWrite(Published published) {
+        published.sample();
+    }
+
+    @Benchmark
+    @Group("seqLock")
+    @GroupThreads(3)
+    public long seqLockRead(Published published, Copy copy) {
+        published.snapshot.copyTo(copy.snapshot);
+        if (!isConsistent(copy.snapshot)) {
+            throw new IllegalStateException("Torn read at timestamp " + copy.snapshot.getTimestamp());
+        }
+        return copy.snapshot.getTimestamp();
+    }
+
+    @Benchmark
+    @Group("unsynchronized")
+    @GroupThreads(1)
+    public void unsynchronizedWrite(Published published) {
+        published.sample();
+    }
+
+    @Benchmark
+    @Group("unsynchronized")
+    @GroupThreads(3)
+    public long unsynchronizedRead(Published published, TornReads tornReads) {
+        if (!isConsistent(published.snapshot)) {
+            tornReads.tornReads++;
+        }
+        return published.snapshot.getTimestamp();
+    }
+
+    private static boolean isConsistent(DrivetrainSnapshot snapshot) {
+        double expected = snapshot.getTimestamp();
+        boolean consistent = snapshot.getPigeonHeading() == expected;
+        for (int i = 0; i < SwerveKinematics.MODULE_COUNT; i++) {
+            consistent &= snapshot.getAnglePosition(i) == expected
+                && snapshot.getAngleVelocity(i) == expected
+                && snapshot.getAngleError(i) == expected
+                && snapshot.getDrivePosition(i) == expected
+                && snapshot.getDriveVelocity(i) == expected
+                && snapshot.getDriveError(i) == expected;
+        }
+        return consistent;
+    }
+}
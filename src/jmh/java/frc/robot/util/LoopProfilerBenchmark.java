@@ -0,0 +1,49 @@
+package frc.robot.util;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the overhead LoopProfiler adds to every measured section.
+ * 
+ * @since 10/16/26
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LoopProfilerBenchmark {
+    private LogLinearHistogram histogram;
+    private LoopProfiler.Section section;
+    private long value;
+
+    @Setup
+    public void setup() {
+        histogram = new LogLinearHistogram();
+        section = LoopProfiler.getInstance().register("Benchmark");
+    }
+
+    @Benchmark
+    public LogLinearHistogram record() {
+        value = (value * 6364136223846793005L + 1442695040888963407L) & LogLinearHistogram.MAX_VALUE;
+        histogram.record(value >>> (value & 31));
+        return histogram;
+    }
+
+    @Benchmark
+    public long startAndStop() {
+        return section.stop(section.start());
+    }
+}
@@ -0,0 +1,92 @@
+package frc.robot.util;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import frc.robot.subsystems.Drivetrain;
+
+/**
+ * Measures the kinematics math run by SwerveManual.execute() every loop.
+ * 
+ * vectorPipeline() is the Vector based math SwerveManual used before SwerveKinematics,
+ * kept here so that both throughput and allocation rate can be compared.
+ * 
+ * @since 10/16/26
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SwerveKinematicsBenchmark {
+    private static final double OUTPUT_MULTIPLIER = 0.5;
+    private static final double ROTATION_MAGNITUDE = Math.sqrt(Math.pow(Drivetrain.DT_LENGTH, 2) + Math.pow(Drivetrain.DT_WIDTH, 2));
+
+    @Param({"true", "false"})
+    private boolean isFieldSensitive;
+
+    private SwerveKinematics kinematics;
+
+    private double translateX;
+    private double translateY;
+    private double turnMagnitude;
+    private double heading;
+
+    @Setup
+    public void setup() {
+        kinematics = new SwerveKinematics(Drivetrain.DT_LENGTH, Drivetrain.DT_WIDTH, OUTPUT_MULTIPLIER);
+        translateX = 0.42;
+        translateY = -0.87;
+        turnMagnitude = 0.65;
+        heading = 123.4;
+    }
+
+    @Benchmark
+    public SwerveKinematics kinematics() {
+        kinematics.calculate(translateX, translateY, turnMagnitude, heading, isFieldSensitive);
+        return kinematics;
+    }
+
+    @Benchmark
+    public void vectorPipeline(Blackhole blackhole) {
+        Vector translation = new Vector(translateX, translateY);
+
+        if (isFieldSensitive) {
+            translation.rotate(-heading);
+        }
+
+        Vector topLeftRotation = new Vector(Drivetrain.DT_LENGTH, Drivetrain.DT_WIDTH).scale(turnMagnitude / ROTATION_MAGNITUDE);
+        Vector topRightRotation = new Vector(Drivetrain.DT_LENGTH, -Drivetrain.DT_WIDTH).scale(turnMagnitude / ROTATION_MAGNITUDE);
+        Vector backLeftRotation = new Vector(-Drivetrain.DT_LENGTH, Drivetrain.DT_WIDTH).scale(turnMagnitude / ROTATION_MAGNITUDE);
+        Vector backRightRotation = new Vector(-Drivetrain.DT_LENGTH, -Drivetrain.DT_WIDTH).scale(turnMagnitude / ROTATION_MAGNITUDE);
+
+        Vector sumTopLeft = Vector.add(topLeftRotation, translation).scale(OUTPUT_MULTIPLIER);
+        Vector sumTopRight = Vector.add(topRightRotation, translation).scale(OUTPUT_MULTIPLIER);
+        Vector sumBackLeft = Vector.add(backLeftRotation, translation).scale(OUTPUT_MULTIPLIER);
+        Vector sumBackRight = Vector.add(backRightRotation, translation).scale(OUTPUT_MULTIPLIER);
+
+        double largestMag = Math.max(Math.max(sumTopLeft.getMagnitude(), sumTopRight.getMagnitude()), 
+                Math.max(sumBackLeft.getMagnitude(), sumBackRight.getMagnitude()));
+
+        if (largestMag < 1)
+            largestMag = 1;
+
+        blackhole.consume(sumTopLeft.scale(1 / largestMag).getAngle());
+        blackhole.consume(sumTopRight.scale(1 / largestMag).getAngle());
+        blackhole.consume(sumBackLeft.scale(1 / largestMag).getAngle());
+        blackhole.consume(sumBackRight.scale(1 / largestMag).getAngle());
+    }
+}
@@ -0,0 +1,62 @@
+package frc.robot.util;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import frc.robot.util.hardware.SimulatedTalon;
+import harkerrobolib.util.Conversions;
+
+/**
+ * Measures SwerveModule.setAngleAndDrive() on a module built from SimulatedTalons,
+ * so the cost includes the reversal logic, the unit conversion and the calls into the motor controllers.
+ * The simulated motors are never stepped, so set() only stores the setpoint.
+ * 
+ * @since 10/16/26
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SwerveModuleBenchmark {
+    private static final int ANGLE_COUNT = 64;
+    private static final double WHEEL_DIAMETER = 4;
+
+    @Param({"true", "false"})
+    private boolean isPercentOutput;
+
+    private SwerveModule module;
+    private double[] targetAngles;
+    private double currentAngle;
+    private int index;
+
+    @Setup
+    public void setup() {
+        Conversions.setWheelDiameter(WHEEL_DIAMETER);
+        module = new SwerveModule(new SimulatedTalon(30000), false, true, new SimulatedTalon(2000), false, false);
+
+        targetAngles = new double[ANGLE_COUNT];
+        for (int i = 0; i < ANGLE_COUNT; i++) {
+            targetAngles[i] = i * 360.0 / ANGLE_COUNT - 180;
+        }
+        currentAngle = 12.5;
+    }
+
+    @Benchmark
+    public double setAngleAndDrive() {
+        module.setAngleAndDrive(targetAngles[index++ & (ANGLE_COUNT - 1)], currentAngle, 0.5, isPercentOutput);
+        return module.getAngleSetpoint();
+    }
+}
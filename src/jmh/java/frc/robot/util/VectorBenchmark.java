@@ -0,0 +1,57 @@
+package frc.robot.util;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the Vector operations used by the drive code.
+ * 
+ * @since 10/16/26
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VectorBenchmark {
+    private Vector vector;
+    private double degrees;
+
+    @Setup
+    public void setup() {
+        vector = new Vector(0.3, -0.7);
+        degrees = 37.5;
+    }
+
+    @Benchmark
+    public Vector rotate() {
+        vector.rotate(degrees);
+        return vector;
+    }
+
+    @Benchmark
+    public double getAngle() {
+        return vector.getAngle();
+    }
+
+    @Benchmark
+    public double getMagnitude() {
+        return vector.getMagnitude();
+    }
+
+    @Benchmark
+    public Vector add() {
+        return Vector.add(vector, vector);
+    }
+}
@@ -1,11 +1,13 @@
 package frc.robot;
 
+import frc.robot.auto.AutoPaths;
 import frc.robot.commands.SwerveDriveWithMotionProfile;
 import frc.robot.commands.ToggleFieldSensitivity;
 import frc.robot.subsystems.Drivetrain;
+import frc.robot.util.DriveInput;
+import frc.robot.util.LoopProfiler;
 import harkerrobolib.commands.CallMethodCommand;
 import harkerrobolib.wrappers.XboxGamepad;
-import jaci.pathfinder.Waypoint;
 /**
  * Contains controllers (Xbox or DDR) and their button bindings
  * 
@@ -26,33 +28,33 @@ public class OI {
 
     private XboxGamepad operatorGamepad;
     private XboxGamepad driverGamepad;
+    private DriveInput driveInput;
 
     private OI() {
         driverGamepad = new XboxGamepad(DRIVER_PORT);
         operatorGamepad = new XboxGamepad(OPERATOR_PORT);
+        driveInput = new DriveInput() {
+            public double getTranslateX() {
+                return driverGamepad.getLeftX();
+            }
+
+            public double getTranslateY() {
+                return driverGamepad.getLeftY();
+            }
+
+            public double getTurn() {
+                return driverGamepad.getRightX();
+            }
+        };
         initBindings();
     }
 
     public void initBindings() {
-        Waypoint[] forward = new Waypoint[] {
-            new Waypoint(0, 0, 0),
-            new Waypoint(1, 0, 0)
-        };
-        Waypoint[] rightAndUp = new Waypoint[] {
-            new Waypoint(0, 0, 0),
-            // new Waypoint(2, 0, 0),
-            new Waypoint(2, 1, 0),
-            new Waypoint(2.5, 2, 0)
-        };
-
-        int timeDur = 10; //ms between each segment
-
-        // OI.getInstance().getDriverGamepad().getUpDPadButton().whenPressed(
-        //         new SwerveDriveWithMotionProfile(points, timeDur)
-        // );
-        driverGamepad.getButtonY().whenPressed(new SwerveDriveWithMotionProfile(forward, timeDur));
-        driverGamepad.getButtonA().whenPressed(new SwerveDriveWithMotionProfile(rightAndUp, timeDur));
+        driverGamepad.getButtonY().whenPressed(new SwerveDriveWithMotionProfile(AutoPaths.FORWARD));
+        driverGamepad.getButtonA().whenPressed(new SwerveDriveWithMotionProfile(AutoPaths.RIGHT_AND_UP));
         driverGamepad.getButtonBumperRight().whenPressed(new ToggleFieldSensitivity());
+
+        operatorGamepad.getButtonStart().whenPressed(new CallMethodCommand(() -> LoopProfiler.getInstance().printSummary()));
     }
 
 
@@ -63,6 +65,20 @@ public class OI {
     public XboxGamepad getOperatorGamepad() {
         return operatorGamepad;
     }
+
+    /**
+     * Gets the inputs SwerveManual drives with, the driver gamepad's joysticks unless replaced by setDriveInput()
+     */
+    public DriveInput getDriveInput() {
+        return driveInput;
+    }
+
+    /**
+     * Replaces the driver's joysticks as the input to SwerveManual, for example with a scripted input in simulation
+     */
+    public void setDriveInput(DriveInput driveInput) {
+        this.driveInput = driveInput;
+    }
     
     public static OI getInstance() {
         if(instance == null)
@@ -11,8 +11,18 @@ import com.ctre.phoenix.motorcontrol.ControlMode;
 
 import edu.wpi.first.wpilibj.TimedRobot;
 import edu.wpi.first.wpilibj.command.Scheduler;
-import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
+import frc.robot.auto.AutoPaths;
+import frc.robot.commands.SwerveDriveWithMotionProfile;
 import frc.robot.subsystems.Drivetrain;
+import frc.robot.util.DriveControlLoop;
+import frc.robot.util.DrivetrainSnapshot;
+import frc.robot.util.FlightRecorder;
+import frc.robot.util.LoopProfiler;
+import frc.robot.util.Pose;
+import frc.robot.util.StatusFrameScheduler;
+import frc.robot.util.SwerveOdometry;
+import frc.robot.util.SwerveKinematics;
+import frc.robot.util.Telemetry;
 import harkerrobolib.util.Conversions;
 import harkerrobolib.util.MathUtil;
 
@@ -41,6 +51,31 @@ import harkerrobolib.util.MathUtil;
  * This is the art of the send, and let me ask you: are you silly?
  */
 public class Robot extends TimedRobot {
+    /**
+     * Whether SwerveManual drives through DriveControlLoop at 200 Hz instead of once per scheduler cycle
+     */
+    public static final boolean USE_DRIVE_CONTROL_LOOP = false;
+
+    /**
+     * The path driven in autonomous, armed while disabled so it starts as soon as autonomous does
+     */
+    public static final AutoPaths AUTONOMOUS_PATH = AutoPaths.FORWARD;
+
+    private SwerveDriveWithMotionProfile autonomousCommand;
+
+    private Telemetry.Channel[] actualAngles;
+    private Telemetry.Channel[] angleErrors;
+    private Telemetry.Channel[] driveVelocities;
+    private Telemetry.Channel[] driveErrors;
+    private Telemetry.Channel tlOutputCurrent;
+    private Telemetry.Channel pigeonHeading;
+    private Telemetry.Channel fieldSensitive;
+    private Telemetry.Channel odometryX;
+    private Telemetry.Channel odometryY;
+    private Telemetry.Channel suppressedFrames;
+    private Telemetry.Channel suppressedSetCalls;
+    private Telemetry.Channel canUtilization;
+    private final Pose pose = new Pose();
 
     /**
      * This function is run when the robot is first started up and should be
@@ -48,10 +83,41 @@ public class Robot extends TimedRobot {
      */
     @Override
     public void robotInit() {
-        OI.getInstance().initBindings();
+        OI.getInstance(); //Binds the buttons, constructing OI already calls initBindings()
         Drivetrain.getInstance();
         Drivetrain.getInstance().getPigeon().setFusedHeading(0);
         Conversions.setWheelDiameter(4);
+
+        Telemetry telemetry = Telemetry.getInstance();
+        actualAngles = new Telemetry.Channel[SwerveKinematics.MODULE_COUNT];
+        angleErrors = new Telemetry.Channel[SwerveKinematics.MODULE_COUNT];
+        driveVelocities = new Telemetry.Channel[SwerveKinematics.MODULE_COUNT];
+        driveErrors = new Telemetry.Channel[SwerveKinematics.MODULE_COUNT];
+        for (int i = 0; i < SwerveKinematics.MODULE_COUNT; i++) {
+            actualAngles[i] = telemetry.register(Drivetrain.MODULE_NAMES[i] + " Actual Angle");
+            angleErrors[i] = telemetry.register(Drivetrain.MODULE_NAMES[i] + " Angle Error");
+            driveVelocities[i] = telemetry.register(Drivetrain.MODULE_NAMES[i] + " Drive Velocity");
+            driveErrors[i] = telemetry.register(Drivetrain.MODULE_NAMES[i] + " Drive Error");
+        }
+        tlOutputCurrent = telemetry.register("TL Percent Output");
+        pigeonHeading = telemetry.register("Pigeon Heading");
+        fieldSensitive = telemetry.registerBoolean("Is field senstitive");
+        odometryX = telemetry.register("Odometry X");
+        odometryY = telemetry.register("Odometry Y");
+        suppressedFrames = telemetry.register("Suppressed CAN Frames", 1);
+        suppressedSetCalls = telemetry.register("Suppressed set() Calls", 1);
+        canUtilization = telemetry.register("Estimated CAN Utilization", 1);
+        telemetry.start();
+
+        FlightRecorder.getInstance().start();
+
+        SwerveOdometry.getInstance().start();
+
+        if (USE_DRIVE_CONTROL_LOOP) {
+            DriveControlLoop.getInstance().start();
+        }
+
+        autonomousCommand = new SwerveDriveWithMotionProfile(AUTONOMOUS_PATH);
     }
 
     /**
@@ -59,20 +125,43 @@ public class Robot extends TimedRobot {
      */
     @Override
     public void robotPeriodic() {
+        LoopProfiler profiler = LoopProfiler.getInstance();
+        long loopStart = profiler.loopStarted();
+
         Scheduler.getInstance().run();
+        long telemetryStart = profiler.getScheduler().stop(loopStart);
+
+        DrivetrainSnapshot snapshot = Drivetrain.getInstance().getSnapshot();
 
-        SmartDashboard.putNumber("BL Actual Angle", Drivetrain.getInstance().getBackLeft().getAngleDegrees());
-        SmartDashboard.putNumber("TL Desired Angle", Drivetrain.getInstance().getTopLeft().getAngleDegrees());
-        SmartDashboard.putNumber("TL Angle Error", MathUtil.constrain(Drivetrain.getInstance().getTopLeft().getAngleMotor().getClosedLoopError(), -100, 100));
-        SmartDashboard.putNumber("TL Percent Output", Drivetrain.getInstance().getTopLeft().getAngleMotor().getOutputCurrent());
+        for (int i = 0; i < SwerveKinematics.MODULE_COUNT; i++) {
+            actualAngles[i].set(snapshot.getAngleDegrees(i));
+            angleErrors[i].set(MathUtil.constrain(snapshot.getAngleError(i), -100, 100));
+            driveVelocities[i].set(snapshot.getDriveVelocity(i));
+            driveErrors[i].set(snapshot.getDriveError(i));
+        }
+        tlOutputCurrent.set(Drivetrain.getInstance().getTopLeft().getAngleMotor().getOutputCurrent());
         // SmartDashboard.putNumber("TL RiseToFall", Drivetrain.getInstance().getTopLeft().getAngleMotor().getSensorCollection().getPulseWidthRiseToFallUs());
         // SmartDashboard.putNumber("TR RiseToFall", Drivetrain.getInstance().getTopRight().getAngleMotor().getSensorCollection().getPulseWidthRiseToFallUs());
         // SmartDashboard.putNumber("BL RiseToFall", Drivetrain.getInstance().getBackLeft().getAngleMotor().getSensorCollection().getPulseWidthRiseToFallUs());
         // SmartDashboard.putNumber("BR RiseToFall", Drivetrain.getInstance().getBackRight().getAngleMotor().getSensorCollection().getPulseWidthRiseToFallUs());
     
-        SmartDashboard.putNumber("Pigeon Heading", Drivetrain.getInstance().getPigeon().getFusedHeading());
+        pigeonHeading.set(snapshot.getPigeonHeading());
+
+        fieldSensitive.set(Drivetrain.getInstance().isFieldSensitive());
+
+        SwerveOdometry.getInstance().getPose(pose);
+        odometryX.set(pose.getX());
+        odometryY.set(pose.getY());
+        suppressedFrames.set(Drivetrain.getInstance().getSuppressedFrames());
+        suppressedSetCalls.set(Drivetrain.getInstance().getSuppressedSetCalls());
+        canUtilization.set(StatusFrameScheduler.getInstance().getUtilization());
 
-        SmartDashboard.putBoolean("Is field senstitive", Drivetrain.getInstance().isFieldSensitive());
+        if (isEnabled()) {
+            FlightRecorder.getInstance().record(Drivetrain.getInstance(), OI.getInstance().getDriveInput());
+        }
+
+        profiler.getTelemetry().stop(telemetryStart);
+        profiler.loopFinished(loopStart);
     }
 
     /**
@@ -80,6 +169,8 @@ public class Robot extends TimedRobot {
      */
     @Override
     public void autonomousInit() {
+        StatusFrameScheduler.getInstance().setModeProfile(StatusFrameScheduler.Profile.MOTION_PROFILE);
+        autonomousCommand.start();
     }
 
     /**
@@ -87,7 +178,6 @@ public class Robot extends TimedRobot {
      */
     @Override
     public void autonomousPeriodic() {
-        Scheduler.getInstance().run();
     }
 
     /**
@@ -95,6 +185,9 @@ public class Robot extends TimedRobot {
      */
     @Override
     public void teleopInit() {
+        StatusFrameScheduler.getInstance().setModeProfile(StatusFrameScheduler.Profile.TELEOP);
+        autonomousCommand.cancel();
+        autonomousCommand.disarm();
     }
 
     /**
@@ -102,7 +195,6 @@ public class Robot extends TimedRobot {
      */
     @Override
     public void teleopPeriodic() {
-        Scheduler.getInstance().run();
     }
 
     /**
@@ -110,6 +202,7 @@ public class Robot extends TimedRobot {
      */
     @Override
     public void testInit() {
+        StatusFrameScheduler.getInstance().setModeProfile(StatusFrameScheduler.Profile.TEST);
     }
 
     /**
@@ -117,7 +210,15 @@ public class Robot extends TimedRobot {
      */
     @Override
     public void testPeriodic() {
-        Scheduler.getInstance().run();
+    }
+
+    /**
+     * This function is called once each time the robot becomes disabled.
+     */
+    @Override
+    public void disabledInit() {
+        StatusFrameScheduler.getInstance().setModeProfile(StatusFrameScheduler.Profile.DISABLED);
+        FlightRecorder.getInstance().flush();
     }
 
     /**
@@ -128,7 +229,11 @@ public class Robot extends TimedRobot {
         Drivetrain.getInstance().applyToAllAngle((talon) -> talon.set(ControlMode.Disabled, 0));
         Drivetrain.getInstance().applyToAllDrive((talon) -> talon.set(ControlMode.Disabled, 0));
 
-        Drivetrain.getInstance().applyToAllDrive((talon) -> talon.clearMotionProfileTrajectories());
-        Drivetrain.getInstance().applyToAllAngle((talon) -> talon.clearMotionProfileTrajectories());
+        //Keep the autonomous path in the Talons once it is armed, so autonomousInit() only has to enable it
+        if (!autonomousCommand.isArmed()) {
+            Drivetrain.getInstance().applyToAllDrive((talon) -> talon.clearMotionProfileTrajectories());
+            Drivetrain.getInstance().applyToAllAngle((talon) -> talon.clearMotionProfileTrajectories());
+            autonomousCommand.arm();
+        }
     }
 }
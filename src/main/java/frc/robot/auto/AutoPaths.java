@@ -0,0 +1,81 @@
+package frc.robot.auto;
+
+import jaci.pathfinder.Waypoint;
+
+/**
+ * Every path the robot can follow with SwerveDriveWithMotionProfile.
+ * 
+ * The module trajectories for these paths are generated ahead of time by TrajectoryCompiler
+ * (./gradlew compileTrajectories) so that the robot does not have to generate them at startup.
+ * Regenerate the compiled file whenever a path is added or changed.
+ * 
+ * @since 10/16/26
+ */
+public enum AutoPaths {
+    FORWARD(10, 
+        new Waypoint(0, 0, 0),
+        new Waypoint(1, 0, 0)
+    ),
+    RIGHT_AND_UP(10,
+        new Waypoint(0, 0, 0),
+        // new Waypoint(2, 0, 0),
+        new Waypoint(2, 1, 0),
+        new Waypoint(2.5, 2, 0)
+    ),
+    FORWARD_AND_TURN(10, new double[] {0, Math.PI / 2},
+        new Waypoint(0, 0, 0),
+        new Waypoint(2, 0, 0)
+    );
+
+    private final int timeDur;
+    private final Waypoint[] waypoints;
+    private final double[] headings;
+
+    /**
+     * @param timeDur The time in ms between each segment of the Trajectory
+     * @param waypoints The Waypoints to generate the Trajectory from
+     */
+    private AutoPaths(int timeDur, Waypoint... waypoints) {
+        this(timeDur, null, waypoints);
+    }
+
+    /**
+     * @param timeDur The time in ms between each segment of the Trajectory
+     * @param headings The heading of the chassis at each Waypoint in radians, or null to keep it at 0
+     * @param waypoints The Waypoints to generate the Trajectory from
+     */
+    private AutoPaths(int timeDur, double[] headings, Waypoint... waypoints) {
+        this.timeDur = timeDur;
+        this.headings = headings;
+        this.waypoints = waypoints;
+    }
+
+    public int getTimeDur() {
+        return timeDur;
+    }
+
+    public Waypoint[] getWaypoints() {
+        return waypoints;
+    }
+
+    /**
+     * Gets the heading of the chassis at each Waypoint, or null if the chassis keeps a heading of 0
+     */
+    public double[] getHeadings() {
+        return headings;
+    }
+
+    /**
+     * Generates the module trajectories of the path.
+     */
+    public ModuleTrajectorySet generate() {
+        return SwerveTrajectoryGenerator.generate(waypoints, headings, timeDur);
+    }
+
+    /**
+     * Returns a hash of everything the generated trajectories depend on, used to detect an outdated compiled file.
+     */
+    public long getFingerprint() {
+        return SwerveTrajectoryGenerator.fingerprint(waypoints, headings, timeDur);
+    }
+}
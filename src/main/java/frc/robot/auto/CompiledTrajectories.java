@@ -0,0 +1,204 @@
+package frc.robot.auto;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+import edu.wpi.first.wpilibj.DriverStation;
+import edu.wpi.first.wpilibj.Filesystem;
+
+/**
+ * Reads and writes the module trajectories of every AutoPath in a single binary file.
+ * 
+ * The file is generated on a development machine by TrajectoryCompiler and deployed with the robot code.
+ * On the robot it is memory mapped, so loading only reads the small path index at the start of the file;
+ * a path's columns are bulk copied out of the mapping into a ModuleTrajectorySet when a command asks for it.
+ * 
+ * Format (big endian):
+ *      int     MAGIC
+ *      int     VERSION
+ *      int     number of paths
+ *      for each path:
+ *          UTF     path name
+ *          long    fingerprint
+ *          int     timeDur (ms)
+ *          int     number of segments per module
+ *          long    offset of the path's columns from the start of the file
+ *      for each path, the columns of its ModuleTrajectorySet as doubles:
+ *          time, position, velocity, acceleration, heading
+ * 
+ * @since 10/16/26
+ */
+public class CompiledTrajectories {
+    public static final String FILE_NAME = "trajectories.bin";
+
+    private static final int MAGIC = 0x53575654; // "SWVT"
+    private static final int VERSION = 2;
+
+    /**
+     * Number of doubles stored per segment: one time plus position, velocity, acceleration and heading for each module
+     */
+    private static final int DOUBLES_PER_SEGMENT = 1 + 4 * ModuleTrajectorySet.MODULE_COUNT;
+
+    private static CompiledTrajectories instance;
+
+    private final ByteBuffer buffer;
+    private final Map<String, Entry> entries;
+
+    private static class Entry {
+        private final long fingerprint;
+        private final int timeDur;
+        private final int length;
+        private final int offset;
+
+        private Entry(long fingerprint, int timeDur, int length, int offset) {
+            this.fingerprint = fingerprint;
+            this.timeDur = timeDur;
+            this.length = length;
+            this.offset = offset;
+        }
+    }
+
+    private CompiledTrajectories(ByteBuffer buffer) {
+        this.buffer = buffer;
+        this.entries = new HashMap<>();
+
+        if (buffer.capacity() == 0) {
+            return;
+        }
+
+        int magic = buffer.getInt(0);
+        int version = buffer.getInt(4);
+        if (magic != MAGIC || version != VERSION) {
+            DriverStation.reportWarning("Ignoring " + FILE_NAME + ": unsupported format " + Integer.toHexString(magic) + " v" + version, false);
+            return;
+        }
+
+        ByteBuffer header = buffer.duplicate();
+        header.position(8);
+        int pathCount = header.getInt();
+        for (int i = 0; i < pathCount; i++) {
+            byte[] name = new byte[header.getShort() & 0xFFFF];
+            header.get(name);
+            long fingerprint = header.getLong();
+            int timeDur = header.getInt();
+            int length = header.getInt();
+            long offset = header.getLong();
+            long size = (long)DOUBLES_PER_SEGMENT * length * Double.BYTES;
+            if (length < 0 || offset < 0 || offset > buffer.capacity() - size) {
+                DriverStation.reportWarning("Ignoring " + FILE_NAME + ": path " + i + " is outside the file", false);
+                entries.clear();
+                return;
+            }
+            entries.put(new String(name, StandardCharsets.UTF_8), new Entry(fingerprint, timeDur, length, (int)offset));
+        }
+    }
+
+    /**
+     * Returns the module trajectories of a path, or null if the path is missing from the compiled file
+     * or was compiled from different waypoints or drivetrain constants.
+     */
+    public ModuleTrajectorySet get(AutoPaths path) {
+        Entry entry = entries.get(path.name());
+        if (entry == null || entry.fingerprint != path.getFingerprint() || entry.timeDur != path.getTimeDur()) {
+            return null;
+        }
+
+        ModuleTrajectorySet set = new ModuleTrajectorySet(entry.length);
+        ByteBuffer data = buffer.duplicate();
+        data.position(entry.offset);
+        DoubleBuffer columns = data.asDoubleBuffer();
+        columns.get(set.getTimeColumn());
+        columns.get(set.getPositionColumn());
+        columns.get(set.getVelocityColumn());
+        columns.get(set.getAccelerationColumn());
+        columns.get(set.getHeadingColumn());
+        return set;
+    }
+
+    /**
+     * Memory maps a compiled trajectory file. A missing file results in an empty set of paths.
+     */
+    public static CompiledTrajectories load(File file) throws IOException {
+        if (!file.isFile()) {
+            return new CompiledTrajectories(ByteBuffer.allocate(0));
+        }
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r"); FileChannel channel = raf.getChannel()) {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new CompiledTrajectories(mapped);
+        }
+    }
+
+    /**
+     * Writes the module trajectories of every path to a file in the format read by load().
+     * 
+     * @param trajectories The module trajectories of each path, in the same order as paths
+     */
+    public static void write(File file, AutoPaths[] paths, ModuleTrajectorySet[] trajectories) throws IOException {
+        byte[][] names = new byte[paths.length][];
+        long headerSize = 3 * Integer.BYTES;
+        for (int i = 0; i < paths.length; i++) {
+            names[i] = paths[i].name().getBytes(StandardCharsets.UTF_8);
+            headerSize += Short.BYTES + names[i].length + Long.BYTES + 2 * Integer.BYTES + Long.BYTES;
+        }
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(paths.length);
+
+            long offset = headerSize;
+            for (int i = 0; i < paths.length; i++) {
+                int length = trajectories[i].length();
+                out.writeShort(names[i].length);
+                out.write(names[i]);
+                out.writeLong(paths[i].getFingerprint());
+                out.writeInt(paths[i].getTimeDur());
+                out.writeInt(length);
+                out.writeLong(offset);
+                offset += (long)DOUBLES_PER_SEGMENT * length * Double.BYTES;
+            }
+
+            for (ModuleTrajectorySet set : trajectories) {
+                writeColumn(out, set.getTimeColumn());
+                writeColumn(out, set.getPositionColumn());
+                writeColumn(out, set.getVelocityColumn());
+                writeColumn(out, set.getAccelerationColumn());
+                writeColumn(out, set.getHeadingColumn());
+            }
+        }
+    }
+
+    private static void writeColumn(DataOutputStream out, double[] column) throws IOException {
+        for (double value : column) {
+            out.writeDouble(value);
+        }
+    }
+
+    /**
+     * Returns the trajectories deployed with the robot code, mapping the file the first time this is called.
+     * Synchronized since BackgroundExecutor threads load paths through it.
+     */
+    public static synchronized CompiledTrajectories getInstance() {
+        if (instance == null) {
+            File file = new File(Filesystem.getDeployDirectory(), FILE_NAME);
+            try {
+                instance = load(file);
+            } catch (IOException e) {
+                DriverStation.reportWarning("Could not load " + file + ": " + e.getMessage(), false);
+                instance = new CompiledTrajectories(ByteBuffer.allocate(0));
+            }
+        }
+        return instance;
+    }
+}
@@ -0,0 +1,59 @@
+package frc.robot.auto;
+
+/**
+ * A trajectory generated by HolonomicTrajectoryGenerator: the pose of the chassis at every segment, and the
+ * trajectories of its modules.
+ *
+ * The chassis pose is stored in one primitive array per column, with the same timestamps as the modules.
+ * Positions are in meters and headings in radians, in Pathfinder's coordinates.
+ *
+ * @since 10/16/26
+ */
+public class HolonomicTrajectory {
+    private final double[] x;
+    private final double[] y;
+    private final double[] heading;
+    private final ModuleTrajectorySet modules;
+
+    /**
+     * Creates an empty trajectory with the given number of segments.
+     */
+    public HolonomicTrajectory(int length) {
+        x = new double[length];
+        y = new double[length];
+        heading = new double[length];
+        modules = new ModuleTrajectorySet(length);
+    }
+
+    public int length() {
+        return x.length;
+    }
+
+    public double getX(int index) {
+        return x[index];
+    }
+
+    public double getY(int index) {
+        return y[index];
+    }
+
+    /**
+     * Gets the heading of the chassis, which is independent of the direction the chassis moves
+     */
+    public double getHeading(int index) {
+        return heading[index];
+    }
+
+    /**
+     * Gets the trajectories of the modules, relative to the chassis
+     */
+    public ModuleTrajectorySet getModules() {
+        return modules;
+    }
+
+    void setChassis(int index, double x, double y, double heading) {
+        this.x[index] = x;
+        this.y[index] = y;
+        this.heading[index] = heading;
+    }
+}
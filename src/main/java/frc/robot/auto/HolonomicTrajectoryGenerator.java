@@ -0,0 +1,320 @@
+package frc.robot.auto;
+
+import frc.robot.subsystems.Drivetrain;
+import jaci.pathfinder.Waypoint;
+
+/**
+ * Generates swerve trajectories where the chassis heading follows its own profile instead of the path's tangent,
+ * so the robot can turn while it drives.
+ *
+ * The path goes through quintic Hermite splines between the Waypoints, with no curvature at the Waypoints like
+ * Pathfinder's HERMITE_QUINTIC. Between two Waypoints, the heading moves from one Waypoint's heading to the next with a
+ * quintic smoothstep over the distance driven, so it starts and stops turning smoothly.
+ *
+ * The fastest speed along the path is found with a forward and a backward pass over ARC_SAMPLES points per spline,
+ * limiting the acceleration of the chassis and the speed of every module. A module on the outside of a turn moves faster
+ * than the chassis. Only acceleration is limited, not jerk. The result is sampled every timeDur into the chassis
+ * pose and the speed, direction and distance driven of every module.
+ *
+ * Coordinates follow Pathfinder: x is forward, y is to the left and angles are in radians counterclockwise from x.
+ * Module directions are relative to the chassis, like the headings of Pathfinder's swerve trajectories.
+ * Everything is stored in primitive arrays sized once per path.
+ *
+ * @since 10/16/26
+ */
+public class HolonomicTrajectoryGenerator {
+    /**
+     * Intervals per spline at which arc length and the speed limit are computed
+     */
+    static final int ARC_SAMPLES = 64;
+
+    /**
+     * Length of the tangents at the Waypoints, relative to the distance between them
+     */
+    private static final double TANGENT_SCALE = 1.2;
+
+    //3 point Gauss-Legendre quadrature on [0, 1]
+    private static final double[] GAUSS_NODES = {0.5 - Math.sqrt(0.15), 0.5, 0.5 + Math.sqrt(0.15)};
+    private static final double[] GAUSS_WEIGHTS = {5 / 18.0, 8 / 18.0, 5 / 18.0};
+
+    private static final int COEFFICIENTS = 6;
+
+    //Module positions relative to the center of the chassis, indexed by the Drivetrain module indices
+    private static final double[] MODULE_X = new double[ModuleTrajectorySet.MODULE_COUNT];
+    private static final double[] MODULE_Y = new double[ModuleTrajectorySet.MODULE_COUNT];
+
+    static {
+        MODULE_X[Drivetrain.TOP_LEFT] = Drivetrain.DT_LENGTH / 2;
+        MODULE_Y[Drivetrain.TOP_LEFT] = Drivetrain.DT_WIDTH / 2;
+        MODULE_X[Drivetrain.TOP_RIGHT] = Drivetrain.DT_LENGTH / 2;
+        MODULE_Y[Drivetrain.TOP_RIGHT] = -Drivetrain.DT_WIDTH / 2;
+        MODULE_X[Drivetrain.BACK_LEFT] = -Drivetrain.DT_LENGTH / 2;
+        MODULE_Y[Drivetrain.BACK_LEFT] = Drivetrain.DT_WIDTH / 2;
+        MODULE_X[Drivetrain.BACK_RIGHT] = -Drivetrain.DT_LENGTH / 2;
+        MODULE_Y[Drivetrain.BACK_RIGHT] = -Drivetrain.DT_WIDTH / 2;
+    }
+
+    private final int splineCount;
+    private final double[] coefficientsX;
+    private final double[] coefficientsY;
+    private final double[] headings;
+
+    //Arc length table: node i is at parameter (i % ARC_SAMPLES) / ARC_SAMPLES of spline i / ARC_SAMPLES
+    private final int nodeCount;
+    private final double[] nodeDistance;
+    private final double[] nodeVelocity;
+    private final double[] nodeTime;
+    private final double[] nodeAcceleration;
+
+    //State of the last call to evaluate()
+    private double x, y, tangentX, tangentY, heading, headingRate;
+
+    private HolonomicTrajectoryGenerator(Waypoint[] waypoints, double[] headings) {
+        if (waypoints.length < 2 || headings.length != waypoints.length) {
+            throw new IllegalArgumentException("Need at least 2 waypoints and one heading per waypoint, got "
+                + waypoints.length + " waypoints and " + headings.length + " headings");
+        }
+        splineCount = waypoints.length - 1;
+        coefficientsX = new double[COEFFICIENTS * splineCount];
+        coefficientsY = new double[COEFFICIENTS * splineCount];
+        this.headings = headings;
+
+        nodeCount = splineCount * ARC_SAMPLES + 1;
+        nodeDistance = new double[nodeCount];
+        nodeVelocity = new double[nodeCount];
+        nodeTime = new double[nodeCount];
+        nodeAcceleration = new double[nodeCount];
+
+        for (int i = 0; i < splineCount; i++) {
+            fit(i, waypoints[i], waypoints[i + 1]);
+        }
+    }
+
+    /**
+     * Generates the trajectory of the chassis and its modules.
+     *
+     * @param waypoints The Waypoints to go through, with the direction of travel at each one
+     * @param headings The heading of the chassis at each Waypoint in radians. Turns by the difference between consecutive
+     *                 headings, so a difference of more than pi turns the long way around.
+     * @param timeDur The time in ms between each segment of the trajectory
+     * @param maxVelocity The fastest any module may move in meters per second
+     * @param maxAcceleration The fastest the chassis may speed up or slow down along the path in meters per second squared
+     */
+    public static HolonomicTrajectory generate(Waypoint[] waypoints, double[] headings, int timeDur, double maxVelocity, double maxAcceleration) {
+        HolonomicTrajectoryGenerator generator = new HolonomicTrajectoryGenerator(waypoints, headings);
+        generator.parameterize(maxVelocity, maxAcceleration);
+        return generator.sample(timeDur / 1000.0);
+    }
+
+    /**
+     * Generates a trajectory with the Drivetrain's limits.
+     */
+    public static HolonomicTrajectory generate(Waypoint[] waypoints, double[] headings, int timeDur) {
+        return generate(waypoints, headings, timeDur, Drivetrain.MAX_DRIVE_VELOCITY, Drivetrain.MAX_DRIVE_ACCELERATION);
+    }
+
+    /**
+     * Stores the polynomial coefficients of the quintic Hermite spline from one Waypoint to the next,
+     * with zero second derivatives at both ends.
+     */
+    private void fit(int spline, Waypoint start, Waypoint end) {
+        double distance = Math.hypot(end.x - start.x, end.y - start.y);
+        if (distance == 0) {
+            throw new IllegalArgumentException("Waypoints " + spline + " and " + (spline + 1) + " are at the same position");
+        }
+        double scale = TANGENT_SCALE * distance;
+        setCoefficients(coefficientsX, spline, start.x, scale * Math.cos(start.angle), end.x, scale * Math.cos(end.angle));
+        setCoefficients(coefficientsY, spline, start.y, scale * Math.sin(start.angle), end.y, scale * Math.sin(end.angle));
+    }
+
+    private static void setCoefficients(double[] coefficients, int spline, double p0, double v0, double p1, double v1) {
+        int offset = COEFFICIENTS * spline;
+        coefficients[offset] = p0;
+        coefficients[offset + 1] = v0;
+        coefficients[offset + 2] = 0;
+        coefficients[offset + 3] = -10 * p0 - 6 * v0 - 4 * v1 + 10 * p1;
+        coefficients[offset + 4] = 15 * p0 + 8 * v0 + 7 * v1 - 15 * p1;
+        coefficients[offset + 5] = -6 * p0 - 3 * v0 - 3 * v1 + 6 * p1;
+    }
+
+    private static double position(double[] c, int offset, double t) {
+        return c[offset] + t * (c[offset + 1] + t * (c[offset + 2] + t * (c[offset + 3] + t * (c[offset + 4] + t * c[offset + 5]))));
+    }
+
+    private static double derivative(double[] c, int offset, double t) {
+        return c[offset + 1] + t * (2 * c[offset + 2] + t * (3 * c[offset + 3] + t * (4 * c[offset + 4] + t * 5 * c[offset + 5])));
+    }
+
+    private double speed(int spline, double t) {
+        int offset = COEFFICIENTS * spline;
+        return Math.hypot(derivative(coefficientsX, offset, t), derivative(coefficientsY, offset, t));
+    }
+
+    /**
+     * Integrates the arc length of a spline between two parameters
+     */
+    private double arcLength(int spline, double from, double to) {
+        double length = 0;
+        for (int i = 0; i < GAUSS_NODES.length; i++) {
+            length += GAUSS_WEIGHTS[i] * speed(spline, from + (to - from) * GAUSS_NODES[i]);
+        }
+        return length * (to - from);
+    }
+
+    /**
+     * Fills the arc length table and finds the velocity, time and acceleration at every node.
+     */
+    private void parameterize(double maxVelocity, double maxAcceleration) {
+        for (int i = 1; i < nodeCount; i++) {
+            int spline = (i - 1) / ARC_SAMPLES;
+            double t = (double) ((i - 1) % ARC_SAMPLES) / ARC_SAMPLES;
+            nodeDistance[i] = nodeDistance[i - 1] + arcLength(spline, t, t + 1.0 / ARC_SAMPLES);
+        }
+
+        //Speed limit of the chassis at every node, so the fastest module moves at maxVelocity
+        for (int i = 0; i < nodeCount; i++) {
+            int spline = Math.min(i / ARC_SAMPLES, splineCount - 1);
+            evaluate(spline, (double) (i - spline * ARC_SAMPLES) / ARC_SAMPLES, nodeDistance[i]);
+            double fastest = 0;
+            for (int module = 0; module < ModuleTrajectorySet.MODULE_COUNT; module++) {
+                fastest = Math.max(fastest, moduleSpeedFactor(module));
+            }
+            nodeVelocity[i] = maxVelocity / fastest;
+        }
+
+        //Start and end at rest, and accelerate as hard as allowed in between
+        nodeVelocity[0] = 0;
+        for (int i = 1; i < nodeCount; i++) {
+            double step = nodeDistance[i] - nodeDistance[i - 1];
+            nodeVelocity[i] = Math.min(nodeVelocity[i], Math.sqrt(nodeVelocity[i - 1] * nodeVelocity[i - 1] + 2 * maxAcceleration * step));
+        }
+        nodeVelocity[nodeCount - 1] = 0;
+        for (int i = nodeCount - 2; i >= 0; i--) {
+            double step = nodeDistance[i + 1] - nodeDistance[i];
+            nodeVelocity[i] = Math.min(nodeVelocity[i], Math.sqrt(nodeVelocity[i + 1] * nodeVelocity[i + 1] + 2 * maxAcceleration * step));
+        }
+
+        //Constant acceleration between nodes
+        for (int i = 0; i < nodeCount - 1; i++) {
+            double step = nodeDistance[i + 1] - nodeDistance[i];
+            double velocitySum = nodeVelocity[i] + nodeVelocity[i + 1];
+            nodeTime[i + 1] = nodeTime[i] + (velocitySum > 0 ? 2 * step / velocitySum : 0);
+            nodeAcceleration[i] = step > 0 ? (nodeVelocity[i + 1] * nodeVelocity[i + 1] - nodeVelocity[i] * nodeVelocity[i]) / (2 * step) : 0;
+        }
+    }
+
+    /**
+     * Samples the path every dt seconds, up to and including its end.
+     */
+    private HolonomicTrajectory sample(double dt) {
+        double duration = nodeTime[nodeCount - 1];
+        int length = (int) Math.ceil(duration / dt - 1e-9) + 1;
+        HolonomicTrajectory trajectory = new HolonomicTrajectory(length);
+        ModuleTrajectorySet modules = trajectory.getModules();
+        double[] time = modules.getTimeColumn();
+        double[] position = modules.getPositionColumn();
+        double[] velocity = modules.getVelocityColumn();
+        double[] acceleration = modules.getAccelerationColumn();
+        double[] moduleHeading = modules.getHeadingColumn();
+
+        int node = 0;
+        for (int k = 0; k < length; k++) {
+            double t = Math.min(k * dt, duration);
+            while (node < nodeCount - 2 && nodeTime[node + 1] <= t) {
+                node++;
+            }
+            double elapsed = t - nodeTime[node];
+            double chassisVelocity = Math.max(0, nodeVelocity[node] + nodeAcceleration[node] * elapsed);
+            double distance = Math.min(nodeDistance[node + 1],
+                nodeDistance[node] + nodeVelocity[node] * elapsed + 0.5 * nodeAcceleration[node] * elapsed * elapsed);
+
+            evaluateAtDistance(node, distance);
+            time[k] = t;
+            trajectory.setChassis(k, x, y, heading);
+
+            for (int module = 0; module < ModuleTrajectorySet.MODULE_COUNT; module++) {
+                int index = module * length + k;
+                double speed = chassisVelocity * moduleSpeedFactor(module);
+                velocity[index] = speed;
+                moduleHeading[index] = moduleDirection(module);
+                if (k > 0) {
+                    position[index] = position[index - 1] + (velocity[index - 1] + speed) / 2 * (t - time[k - 1]);
+                    acceleration[index] = t > time[k - 1] ? (speed - velocity[index - 1]) / (t - time[k - 1]) : 0;
+                }
+            }
+        }
+        return trajectory;
+    }
+
+    /**
+     * Finds the spline parameter at a distance within the interval after a node and evaluates the path there,
+     * refining the linear guess with Newton's method on the arc length.
+     */
+    private void evaluateAtDistance(int node, double distance) {
+        int spline = Math.min(node / ARC_SAMPLES, splineCount - 1);
+        double start = (double) (node - spline * ARC_SAMPLES) / ARC_SAMPLES;
+        double span = nodeDistance[node + 1] - nodeDistance[node];
+        double t = start + (span > 0 ? (distance - nodeDistance[node]) / span : 0) / ARC_SAMPLES;
+
+        for (int i = 0; i < 2 && span > 0; i++) {
+            double error = nodeDistance[node] + arcLength(spline, start, t) - distance;
+            t -= error / speed(spline, t);
+        }
+        evaluate(spline, Math.max(0, Math.min(1, t)), distance);
+    }
+
+    /**
+     * Evaluates the position, unit tangent, heading and heading change per meter of the path.
+     */
+    private void evaluate(int spline, double t, double distance) {
+        int offset = COEFFICIENTS * spline;
+        x = position(coefficientsX, offset, t);
+        y = position(coefficientsY, offset, t);
+        double dx = derivative(coefficientsX, offset, t);
+        double dy = derivative(coefficientsY, offset, t);
+        double norm = Math.hypot(dx, dy);
+        tangentX = dx / norm;
+        tangentY = dy / norm;
+
+        //Smoothstep between the headings of the spline's Waypoints over the spline's arc length
+        double splineStart = nodeDistance[spline * ARC_SAMPLES];
+        double splineLength = nodeDistance[(spline + 1) * ARC_SAMPLES] - splineStart;
+        double u = splineLength > 0 ? Math.max(0, Math.min(1, (distance - splineStart) / splineLength)) : 0;
+        double turn = headings[spline + 1] - headings[spline];
+        heading = headings[spline] + turn * u * u * u * (10 + u * (-15 + 6 * u));
+        headingRate = splineLength > 0 ? turn * 30 * u * u * (1 - u) * (1 - u) / splineLength : 0;
+    }
+
+    /**
+     * Gets a module's speed per meter per second of the chassis at the last evaluated point
+     */
+    private double moduleSpeedFactor(int module) {
+        return Math.hypot(moduleDirectionX(module), moduleDirectionY(module));
+    }
+
+    /**
+     * Gets the direction a module moves relative to the chassis at the last evaluated point
+     */
+    private double moduleDirection(int module) {
+        double directionX = moduleDirectionX(module);
+        double directionY = moduleDirectionY(module);
+        double cos = Math.cos(heading);
+        double sin = Math.sin(heading);
+        return Math.atan2(directionY * cos - directionX * sin, directionX * cos + directionY * sin);
+    }
+
+    /*
+     * Velocity of a module on the field per meter per second of the chassis: the tangent plus the turn of the chassis
+     * (headingRate radians per meter) around the module's position rotated to the chassis heading.
+     */
+
+    private double moduleDirectionX(int module) {
+        double offsetY = MODULE_X[module] * Math.sin(heading) + MODULE_Y[module] * Math.cos(heading);
+        return tangentX - headingRate * offsetY;
+    }
+
+    private double moduleDirectionY(int module) {
+        double offsetX = MODULE_X[module] * Math.cos(heading) - MODULE_Y[module] * Math.sin(heading);
+        return tangentY + headingRate * offsetX;
+    }
+}
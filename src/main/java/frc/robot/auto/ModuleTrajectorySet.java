@@ -0,0 +1,198 @@
+package frc.robot.auto;
+
+import java.util.Arrays;
+
+import jaci.pathfinder.Trajectory;
+import jaci.pathfinder.Trajectory.Segment;
+
+/**
+ * The trajectories of all four swerve modules for one path, stored as one primitive array per column.
+ *
+ * All modules share the same timestamps, so the time column is stored once. Every other column holds the values
+ * of all four modules back to back: the value of segment i for a module is at [module * length + i].
+ * Modules are indexed by the Drivetrain module indices.
+ *
+ * Positions are in meters along the module's path, velocities in meters per second, accelerations in
+ * meters per second squared and headings in radians, the same units as Pathfinder's Segments.
+ *
+ * @since 10/16/26
+ */
+public class ModuleTrajectorySet {
+    public static final int MODULE_COUNT = 4;
+
+    private final int length;
+    private final double[] time;
+    private final double[] position;
+    private final double[] velocity;
+    private final double[] acceleration;
+    private final double[] heading;
+
+    /**
+     * Creates an empty set of trajectories with the given number of segments per module.
+     */
+    public ModuleTrajectorySet(int length) {
+        this.length = length;
+        time = new double[length];
+        position = new double[MODULE_COUNT * length];
+        velocity = new double[MODULE_COUNT * length];
+        acceleration = new double[MODULE_COUNT * length];
+        heading = new double[MODULE_COUNT * length];
+    }
+
+    /**
+     * Copies Pathfinder trajectories into a new set. All trajectories must have the same number of segments.
+     *
+     * @param trajectories The module trajectories, indexed by the Drivetrain module indices
+     */
+    public static ModuleTrajectorySet fromTrajectories(Trajectory[] trajectories) {
+        int length = trajectories[0].length();
+        ModuleTrajectorySet set = new ModuleTrajectorySet(length);
+
+        double t = 0;
+        for (int i = 0; i < length; i++) {
+            set.time[i] = t;
+            t += trajectories[0].get(i).dt;
+        }
+
+        for (int module = 0; module < MODULE_COUNT; module++) {
+            if (trajectories[module].length() != length) {
+                throw new IllegalArgumentException("Module " + module + " has " + trajectories[module].length() + " segments, expected " + length);
+            }
+
+            int offset = module * length;
+            for (int i = 0; i < length; i++) {
+                Segment seg = trajectories[module].get(i);
+                set.position[offset + i] = seg.position;
+                set.velocity[offset + i] = seg.velocity;
+                set.acceleration[offset + i] = seg.acceleration;
+                set.heading[offset + i] = seg.heading;
+            }
+        }
+        return set;
+    }
+
+    /**
+     * Gets the number of segments in each module's trajectory.
+     */
+    public int length() {
+        return length;
+    }
+
+    /**
+     * Gets the total duration of the trajectories in seconds.
+     */
+    public double getDuration() {
+        return length == 0 ? 0 : time[length - 1];
+    }
+
+    public double getTime(int index) {
+        return time[index];
+    }
+
+    public double getPosition(int module, int index) {
+        return position[module * length + index];
+    }
+
+    public double getVelocity(int module, int index) {
+        return velocity[module * length + index];
+    }
+
+    public double getAcceleration(int module, int index) {
+        return acceleration[module * length + index];
+    }
+
+    public double getHeading(int module, int index) {
+        return heading[module * length + index];
+    }
+
+    /**
+     * Linearly interpolates a module's position at a time (in seconds) from the start of the trajectory.
+     * Times outside the trajectory are clamped to the first or last segment.
+     */
+    public double samplePosition(int module, double t) {
+        return sample(position, module, t);
+    }
+
+    /**
+     * Linearly interpolates a module's velocity at a time (in seconds) from the start of the trajectory.
+     */
+    public double sampleVelocity(int module, double t) {
+        return sample(velocity, module, t);
+    }
+
+    /**
+     * Linearly interpolates a module's acceleration at a time (in seconds) from the start of the trajectory.
+     */
+    public double sampleAcceleration(int module, double t) {
+        return sample(acceleration, module, t);
+    }
+
+    /**
+     * Interpolates a module's heading at a time (in seconds) from the start of the trajectory,
+     * taking the shorter way around when the heading wraps.
+     */
+    public double sampleHeading(int module, double t) {
+        int index = indexBefore(t);
+        int offset = module * length;
+        if (index >= length - 1) {
+            return heading[offset + length - 1];
+        }
+
+        double fraction = fraction(index, t);
+        double start = heading[offset + index];
+        double delta = heading[offset + index + 1] - start;
+        delta -= 2 * Math.PI * Math.rint(delta / (2 * Math.PI));
+        return start + delta * fraction;
+    }
+
+    private double sample(double[] column, int module, double t) {
+        int index = indexBefore(t);
+        int offset = module * length;
+        if (index >= length - 1) {
+            return column[offset + length - 1];
+        }
+
+        double start = column[offset + index];
+        return start + (column[offset + index + 1] - start) * fraction(index, t);
+    }
+
+    /**
+     * Returns the index of the last segment at or before t, or 0 if t is before the first segment.
+     */
+    private int indexBefore(double t) {
+        int index = Arrays.binarySearch(time, t);
+        if (index < 0) {
+            index = -index - 2; //binarySearch returns -(insertion point) - 1
+        }
+        return Math.max(index, 0);
+    }
+
+    private double fraction(int index, double t) {
+        double segmentTime = time[index + 1] - time[index];
+        return segmentTime <= 0 ? 0 : Math.max(0, Math.min(1, (t - time[index]) / segmentTime));
+    }
+
+    /*
+     * Direct access to the columns, for bulk reading and writing by CompiledTrajectories.
+     */
+
+    double[] getTimeColumn() {
+        return time;
+    }
+
+    double[] getPositionColumn() {
+        return position;
+    }
+
+    double[] getVelocityColumn() {
+        return velocity;
+    }
+
+    double[] getAccelerationColumn() {
+        return acceleration;
+    }
+
+    double[] getHeadingColumn() {
+        return heading;
+    }
+}
@@ -0,0 +1,122 @@
+package frc.robot.auto;
+
+import frc.robot.subsystems.Drivetrain;
+import jaci.pathfinder.Pathfinder;
+import jaci.pathfinder.Trajectory;
+import jaci.pathfinder.Waypoint;
+import jaci.pathfinder.modifiers.SwerveModifier;
+
+/**
+ * Generates the trajectory of each swerve module from a set of Waypoints.
+ * 
+ * Paths without headings are generated by Pathfinder and keep the chassis at a heading of 0.
+ * Paths with a chassis heading per Waypoint are generated by HolonomicTrajectoryGenerator.
+ * 
+ * Used both on the robot and on a development machine by TrajectoryCompiler, so it must not touch any hardware.
+ * 
+ * @since 10/16/26
+ */
+public class SwerveTrajectoryGenerator {
+    private static final SwerveModifier.Mode MODE = SwerveModifier.Mode.SWERVE_DEFAULT;
+    private static final Trajectory.FitMethod FIT_METHOD = Trajectory.FitMethod.HERMITE_QUINTIC;
+    private static final int SAMPLES = Trajectory.Config.SAMPLES_FAST;
+
+    private SwerveTrajectoryGenerator() {
+    }
+
+    /**
+     * Generates a Trajectory from the Waypoints and splits it into one Trajectory per swerve module.
+     * 
+     * @param waypoints The Waypoints to generate the Trajectory from
+     * @param timeDur The time in ms between each segment of the Trajectory
+     * 
+     * @return The module trajectories
+     */
+    public static ModuleTrajectorySet generate(Waypoint[] waypoints, int timeDur) {
+        Trajectory trajectory = Pathfinder.generate(waypoints, createConfig(timeDur));
+
+        SwerveModifier modifier = new SwerveModifier(trajectory);
+
+        //Generate the individual wheel trajectories using the original trajectory as the center
+        modifier.modify(Drivetrain.DT_WIDTH, Drivetrain.DT_LENGTH, MODE);
+
+        Trajectory[] moduleTrajectories = new Trajectory[4];
+        moduleTrajectories[Drivetrain.TOP_LEFT] = modifier.getFrontLeftTrajectory();
+        moduleTrajectories[Drivetrain.TOP_RIGHT] = modifier.getFrontRightTrajectory();
+        moduleTrajectories[Drivetrain.BACK_LEFT] = modifier.getBackLeftTrajectory();
+        moduleTrajectories[Drivetrain.BACK_RIGHT] = modifier.getBackRightTrajectory();
+        return ModuleTrajectorySet.fromTrajectories(moduleTrajectories);
+    }
+
+    /**
+     * Generates the module trajectories of a path, turning the chassis to the headings if there are any.
+     * 
+     * @param waypoints The Waypoints to generate the Trajectory from
+     * @param headings The heading of the chassis at each Waypoint in radians, or null to keep it at 0
+     * @param timeDur The time in ms between each segment of the Trajectory
+     * 
+     * @return The module trajectories
+     */
+    public static ModuleTrajectorySet generate(Waypoint[] waypoints, double[] headings, int timeDur) {
+        if (headings == null) {
+            return generate(waypoints, timeDur);
+        }
+        return HolonomicTrajectoryGenerator.generate(waypoints, headings, timeDur).getModules();
+    }
+
+    /**
+     * Creates the Pathfinder configuration for the drivetrain's constraints.
+     */
+    static Trajectory.Config createConfig(int timeDur) {
+        return new Trajectory.Config(
+                FIT_METHOD,
+                SAMPLES,
+                (double)timeDur / 1000, 
+                Drivetrain.MAX_DRIVE_VELOCITY,  
+                Drivetrain.MAX_DRIVE_ACCELERATION, 
+                Drivetrain.MAX_DRIVE_JERK
+        );
+    }
+
+    /**
+     * Returns a hash of the waypoints, the segment period, the Pathfinder settings and the drivetrain constraints and dimensions.
+     * Two calls with the same fingerprint generate the same module trajectories.
+     */
+    public static long fingerprint(Waypoint[] waypoints, int timeDur) {
+        long hash = 17;
+        hash = mix(hash, timeDur);
+        hash = mix(hash, FIT_METHOD.name().hashCode());
+        hash = mix(hash, SAMPLES);
+        hash = mix(hash, MODE.name().hashCode());
+        hash = mix(hash, Drivetrain.MAX_DRIVE_VELOCITY);
+        hash = mix(hash, Drivetrain.MAX_DRIVE_ACCELERATION);
+        hash = mix(hash, Drivetrain.MAX_DRIVE_JERK);
+        hash = mix(hash, Drivetrain.DT_WIDTH);
+        hash = mix(hash, Drivetrain.DT_LENGTH);
+        for (Waypoint waypoint : waypoints) {
+            hash = mix(hash, waypoint.x);
+            hash = mix(hash, waypoint.y);
+            hash = mix(hash, waypoint.angle);
+        }
+        return hash;
+    }
+
+    /**
+     * Returns a hash of the waypoints, the headings and everything fingerprint(waypoints, timeDur) depends on.
+     * Paths without headings keep the fingerprint of fingerprint(waypoints, timeDur).
+     */
+    public static long fingerprint(Waypoint[] waypoints, double[] headings, int timeDur) {
+        long hash = fingerprint(waypoints, timeDur);
+        if (headings != null) {
+            hash = mix(hash, HolonomicTrajectoryGenerator.ARC_SAMPLES);
+            for (double heading : headings) {
+                hash = mix(hash, heading);
+            }
+        }
+        return hash;
+    }
+
+    private static long mix(long hash, double value) {
+        return hash * 31 + Double.doubleToLongBits(value);
+    }
+}
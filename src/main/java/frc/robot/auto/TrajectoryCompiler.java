@@ -0,0 +1,35 @@
+package frc.robot.auto;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Generates the module trajectories of every AutoPath on a development machine and writes them to the deploy directory,
+ * so the robot can load them with CompiledTrajectories instead of generating them at startup.
+ * 
+ * Run with ./gradlew compileTrajectories, which ./gradlew build and deploy also run.
+ * 
+ * @since 10/16/26
+ */
+public class TrajectoryCompiler {
+    private TrajectoryCompiler() {
+    }
+
+    /**
+     * @param args The file to write, defaults to src/main/deploy/trajectories.bin
+     */
+    public static void main(String[] args) throws IOException {
+        File output = new File(args.length > 0 ? args[0] : "src/main/deploy/" + CompiledTrajectories.FILE_NAME);
+
+        AutoPaths[] paths = AutoPaths.values();
+        ModuleTrajectorySet[] trajectories = new ModuleTrajectorySet[paths.length];
+        for (int i = 0; i < paths.length; i++) {
+            long startTime = System.nanoTime();
+            trajectories[i] = paths[i].generate();
+            System.out.printf("%s: %d segments in %.1f ms%n", paths[i], trajectories[i].length(), (System.nanoTime() - startTime) / 1e6);
+        }
+
+        CompiledTrajectories.write(output, paths, trajectories);
+        System.out.println("Wrote " + paths.length + " paths to " + output);
+    }
+}
@@ -1,23 +1,35 @@
 package frc.robot.commands;
 
-import com.ctre.phoenix.motion.BufferedTrajectoryPointStream;
-import com.ctre.phoenix.motion.MotionProfileStatus;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
 import com.ctre.phoenix.motion.TrajectoryPoint;
-import com.ctre.phoenix.motorcontrol.ControlMode;
 
+import edu.wpi.first.wpilibj.DriverStation;
 import edu.wpi.first.wpilibj.command.Command;
-import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
-import frc.robot.RobotMap;
+import frc.robot.auto.AutoPaths;
+import frc.robot.auto.CompiledTrajectories;
+import frc.robot.auto.ModuleTrajectorySet;
+import frc.robot.auto.SwerveTrajectoryGenerator;
 import frc.robot.subsystems.Drivetrain;
-import frc.robot.util.SwerveModule;
+import frc.robot.util.BackgroundExecutor;
+import frc.robot.util.DrivetrainSnapshot;
+import frc.robot.util.FlightRecorder;
+import frc.robot.util.LoopProfiler;
+import frc.robot.util.MotionProfileFeeder;
+import frc.robot.util.StatusFrameScheduler;
+import frc.robot.util.MonotonicClock;
+import frc.robot.util.SwerveKinematics;
+import frc.robot.util.Telemetry;
+import frc.robot.util.hardware.ConfigRegistry;
+import frc.robot.util.hardware.Hardware;
+import frc.robot.util.hardware.TalonConfig;
 import harkerrobolib.util.Conversions;
 import harkerrobolib.util.Conversions.PositionUnit;
 import harkerrobolib.util.Conversions.SpeedUnit;
-import jaci.pathfinder.Pathfinder;
-import jaci.pathfinder.Trajectory;
 import jaci.pathfinder.Waypoint;
-import jaci.pathfinder.Trajectory.Segment;
-import jaci.pathfinder.modifiers.SwerveModifier;
 
 /**
  * Follows the specified trajectories by close looping and adding necessary Feed Forwards.
@@ -29,26 +41,93 @@ import jaci.pathfinder.modifiers.SwerveModifier;
  * @since 11/13/19
  */
 public class SwerveDriveWithMotionProfile extends Command {
-    private static final SwerveModifier.Mode MODE = SwerveModifier.Mode.SWERVE_DEFAULT;
-
     private static final int MIN_BUFFERED_POINTS = 4;
 
     private static final double METERS_TO_FEET = 3.28;
 
+    private static final LoopProfiler.Section EXECUTE_PROFILE = LoopProfiler.getInstance().register("SwerveDriveWithMotionProfile.execute");
+
+    private static final String[] MODULE_TITLES = {"Top Left", "Top Right", "Back Left", "Back Right"};
+    private static final Telemetry.Channel[] VELOCITIES = new Telemetry.Channel[SwerveKinematics.MODULE_COUNT];
+    private static final Telemetry.Channel[] ANGLE_ERRORS = new Telemetry.Channel[SwerveKinematics.MODULE_COUNT];
+    private static final Telemetry.Channel[] DRIVE_ERRORS = new Telemetry.Channel[SwerveKinematics.MODULE_COUNT];
+    private static final Telemetry.Channel[] DRIVE_BUFFERS = new Telemetry.Channel[SwerveKinematics.MODULE_COUNT];
+    private static final Telemetry.Channel[] ANGLE_BUFFERS = new Telemetry.Channel[SwerveKinematics.MODULE_COUNT];
+    private static final Telemetry.Channel[] UNDERRUNS = new Telemetry.Channel[SwerveKinematics.MODULE_COUNT];
+    private static final Telemetry.Channel PREDICTED_UNDERRUNS = Telemetry.getInstance().register("Predicted Profile Underruns");
+    private static final Telemetry.Channel PROGRESS = Telemetry.getInstance().register("Profile Progress");
+    private static final Telemetry.Channel DRIVE_POINTS = Telemetry.getInstance().register("Drive Points");
+    private static final Telemetry.Channel ANGLE_POINTS = Telemetry.getInstance().register("Angle Points");
+    private static final Telemetry.Channel HEADING = Telemetry.getInstance().register("Heading");
+    private static final Telemetry.Channel GENERATION_TIME = Telemetry.getInstance().register("Path Generation Time");
+    private static final Telemetry.Channel START_SKEW = Telemetry.getInstance().register("Profile Start Skew");
+    private static final Telemetry.Channel START_LATENCY = Telemetry.getInstance().register("Profile Start Latency");
+
+    static {
+        for (int i = 0; i < SwerveKinematics.MODULE_COUNT; i++) {
+            VELOCITIES[i] = Telemetry.getInstance().register(MODULE_TITLES[i] + " Velocity");
+            ANGLE_ERRORS[i] = Telemetry.getInstance().register(MODULE_TITLES[i] + " Angle Error");
+            DRIVE_ERRORS[i] = Telemetry.getInstance().register(MODULE_TITLES[i] + " Drive Error");
+            DRIVE_BUFFERS[i] = Telemetry.getInstance().register(MODULE_TITLES[i] + " Drive Buffer");
+            ANGLE_BUFFERS[i] = Telemetry.getInstance().register(MODULE_TITLES[i] + " Angle Buffer");
+            UNDERRUNS[i] = Telemetry.getInstance().registerBoolean(MODULE_TITLES[i] + " Has Underrun");
+        }
+    }
+
+    /**
+     * How long initialize() waits for a path that is still being generated before giving up
+     */
+    private static final long READY_TIMEOUT_MS = 10;
+
+    /**
+     * Encoder ticks a drive encoder may move between arm() and the start before the path is armed again, about 1/8 inch
+     */
+    private static final double MAX_DRIVE_POSITION_CHANGE = 256;
+
     private int timeDur;
 
-    private Trajectory tl;
-    private Trajectory tr;
-    private Trajectory bl;
-    private Trajectory br;
+    //Trajectory period, only written when another command changed it. Every point selects its own profile slot.
+    private final TalonConfig profileConfig;
+
+    private CompletableFuture<ModuleTrajectorySet> trajectoriesFuture;
+    private CompletableFuture<double[]> anglesFuture;
+    private ModuleTrajectorySet trajectories;
+    private double[] angles;
+    private MotionProfileFeeder feeder;
+    private boolean armed; //True from arm() until the command starts or disarm()
+    private final double[] armedOffsets;
+    private final double[] armedDrivePositions;
+
+    private boolean failed; //True if the path was not ready when the command started
+    private boolean startMeasured; //True once the start skew of the modules was reported
 
-    private BufferedTrajectoryPointStream tlDriveStream;
-    private BufferedTrajectoryPointStream trDriveStream;    
-    private BufferedTrajectoryPointStream blDriveStream;    
-    private BufferedTrajectoryPointStream brDriveStream;
+    /**
+     * Loads the module trajectories of a path compiled ahead of time by TrajectoryCompiler in the background.
+     * Falls back to generating the path if the compiled file is missing or outdated.
+     * 
+     * @param path The path to follow
+     */
+    public SwerveDriveWithMotionProfile(AutoPaths path) {
+        requires(Drivetrain.getInstance());
+
+        this.timeDur = path.getTimeDur();
+        profileConfig = new TalonConfig().configMotionProfileTrajectoryPeriod(timeDur);
+        armedOffsets = new double[SwerveKinematics.MODULE_COUNT];
+        armedDrivePositions = new double[SwerveKinematics.MODULE_COUNT];
+
+        prepare(CompletableFuture.supplyAsync(() -> {
+            ModuleTrajectorySet trajectories = CompiledTrajectories.getInstance().get(path);
+            if (trajectories == null) {
+                DriverStation.reportWarning(path + " is not in " + CompiledTrajectories.FILE_NAME + ", generating it. Run ./gradlew compileTrajectories", false);
+                trajectories = generate(path.getWaypoints(), path.getHeadings(), timeDur);
+            }
+            return trajectories;
+        }, BackgroundExecutor.getInstance()));
+    }
 
     /**
-     * Generates a Trajectory from the Waypoints and creates the eight corresponding BufferedTrajectoryPointStreams
+     * Generates a Trajectory from the Waypoints, to be streamed to the eight Talons when the command starts.
+     * Generation runs in the background, so the command is not ready to run until isReady() returns true.
      * 
      * @param waypoints The Waypoints to generate the Trajectory from
      * @param timeDur The time in ms between each segment of the Trajectory
@@ -57,148 +136,267 @@ public class SwerveDriveWithMotionProfile extends Command {
         requires(Drivetrain.getInstance());
     
         this.timeDur = timeDur;
+        profileConfig = new TalonConfig().configMotionProfileTrajectoryPeriod(timeDur);
+        armedOffsets = new double[SwerveKinematics.MODULE_COUNT];
+        armedDrivePositions = new double[SwerveKinematics.MODULE_COUNT];
 
-        Trajectory.Config config = new Trajectory.Config(
-                Trajectory.FitMethod.HERMITE_QUINTIC,
-                Trajectory.Config.SAMPLES_FAST,
-                (double)timeDur / 1000, 
-                Drivetrain.MAX_DRIVE_VELOCITY,  
-                Drivetrain.MAX_DRIVE_ACCELERATION, 
-                Drivetrain.MAX_DRIVE_JERK
-        );
+        prepare(CompletableFuture.supplyAsync(() -> generate(waypoints, null, timeDur), BackgroundExecutor.getInstance()));
+    }
 
-        long startTime = System.currentTimeMillis();
-        Trajectory trajectory = Pathfinder.generate(waypoints, config);
-        SmartDashboard.putNumber("Path Generation Time", System.currentTimeMillis() - startTime);
+    private static ModuleTrajectorySet generate(Waypoint[] waypoints, double[] headings, int timeDur) {
+        //Always measured in real time, since it is how long this computer took and not part of the robot's behavior
+        long startTime = MonotonicClock.getInstance().nanoTime();
+        ModuleTrajectorySet trajectories = SwerveTrajectoryGenerator.generate(waypoints, headings, timeDur);
+        GENERATION_TIME.set((MonotonicClock.getInstance().nanoTime() - startTime) / 1e6);
+        return trajectories;
+    }
 
-        SwerveModifier modifier = new SwerveModifier(trajectory);
+    private void prepare(CompletableFuture<ModuleTrajectorySet> trajectoriesFuture) {
+        this.trajectoriesFuture = trajectoriesFuture;
 
-        //Generate the individual wheel trajectories using the original trajectory as the center
-        modifier.modify(Drivetrain.DT_WIDTH, Drivetrain.DT_LENGTH, MODE);
+        //Unwrap the module angles early, since they only depend on the path
+        anglesFuture = trajectoriesFuture.thenApply(SwerveDriveWithMotionProfile::unwrapAngles);
+    }
 
-        tl = modifier.getFrontLeftTrajectory();
-        tr = modifier.getFrontRightTrajectory();
-        bl = modifier.getBackLeftTrajectory();
-        br = modifier.getBackRightTrajectory();
+    /**
+     * Converts every module's headings to module angles in degrees, adding or removing whole turns so consecutive angles
+     * never differ by more than 180 degrees. The angle of segment i for a module is at [module * length + i],
+     * like the columns of ModuleTrajectorySet.
+     */
+    static double[] unwrapAngles(ModuleTrajectorySet traj) {
+        int length = traj.length();
+        double[] angles = new double[ModuleTrajectorySet.MODULE_COUNT * length];
+
+        for (int module = 0; module < ModuleTrajectorySet.MODULE_COUNT; module++) {
+            int offset = module * length;
+            double previous = Math.toDegrees(traj.getHeading(module, 0)) - 90;
+            for (int i = 0; i < length; i++) {
+                previous = Drivetrain.convertAngle(previous, Math.toDegrees(traj.getHeading(module, i)));
+                angles[offset + i] = previous;
+            }
+        }
+        return angles;
+    }
 
-        //Generate Drive Streams early, since they will always be the same
-        tlDriveStream = createDriveStreamFromTrajectory(tl);
-        trDriveStream = createDriveStreamFromTrajectory(tr);
-        blDriveStream = createDriveStreamFromTrajectory(bl);
-        brDriveStream = createDriveStreamFromTrajectory(br);
+    /**
+     * Returns true once the path has been generated and its module angles unwrapped.
+     */
+    public boolean isReady() {
+        return anglesFuture.isDone() && !anglesFuture.isCompletedExceptionally();
     }
 
-    @Override
-    public void initialize() {
-        //Generate Angle Streams just before starting the profile, since every segment's position depends on the modules' current position
-        BufferedTrajectoryPointStream tlAngleStream = createAngleStreamFromTrajectory(tl, Drivetrain.getInstance().getTopLeft());
-        BufferedTrajectoryPointStream trAngleStream = createAngleStreamFromTrajectory(tr, Drivetrain.getInstance().getTopRight());
-        BufferedTrajectoryPointStream blAngleStream = createAngleStreamFromTrajectory(bl, Drivetrain.getInstance().getBackLeft());
-        BufferedTrajectoryPointStream brAngleStream = createAngleStreamFromTrajectory(br, Drivetrain.getInstance().getBackRight());
-
-        Drivetrain.getInstance().applyToAllDrive((driveMotor) -> driveMotor.selectProfileSlot(Drivetrain.DRIVE_MOTION_PROF_SLOT, RobotMap.PRIMARY_INDEX));     
-        Drivetrain.getInstance().applyToAllAngle((angleMotor) -> angleMotor.selectProfileSlot(Drivetrain.ANGLE_MOTION_PROF_SLOT, RobotMap.PRIMARY_INDEX));
-
-        Drivetrain.getInstance().applyToAllDrive((driveMotors) -> driveMotors.configMotionProfileTrajectoryPeriod(timeDur));
-        Drivetrain.getInstance().applyToAllAngle((angleMotors) -> angleMotors.configMotionProfileTrajectoryPeriod(timeDur));
-
-        Drivetrain.getInstance().getTopLeft().getDriveMotor().startMotionProfile(tlDriveStream, MIN_BUFFERED_POINTS, ControlMode.MotionProfile);
-        Drivetrain.getInstance().getTopLeft().getAngleMotor().startMotionProfile(tlAngleStream, MIN_BUFFERED_POINTS, ControlMode.MotionProfile);
-        
-        Drivetrain.getInstance().getTopRight().getDriveMotor().startMotionProfile(trDriveStream, MIN_BUFFERED_POINTS, ControlMode.MotionProfile);
-        Drivetrain.getInstance().getTopRight().getAngleMotor().startMotionProfile(trAngleStream, MIN_BUFFERED_POINTS, ControlMode.MotionProfile);
-        
-        Drivetrain.getInstance().getBackLeft().getDriveMotor().startMotionProfile(blDriveStream, MIN_BUFFERED_POINTS, ControlMode.MotionProfile);
-        Drivetrain.getInstance().getBackLeft().getAngleMotor().startMotionProfile(blAngleStream, MIN_BUFFERED_POINTS, ControlMode.MotionProfile);
-        
-        Drivetrain.getInstance().getBackRight().getDriveMotor().startMotionProfile(brDriveStream, MIN_BUFFERED_POINTS, ControlMode.MotionProfile);
-        Drivetrain.getInstance().getBackRight().getAngleMotor().startMotionProfile(brAngleStream, MIN_BUFFERED_POINTS, ControlMode.MotionProfile);
-    }
-
-    private static BufferedTrajectoryPointStream createDriveStreamFromTrajectory(Trajectory traj) {
-        BufferedTrajectoryPointStream stream = new BufferedTrajectoryPointStream();
-
-        SmartDashboard.putNumber("Drive Points", traj.length());
-        for (int i = 0; i < traj.length(); i++) {
-            Segment seg = traj.get(i);
-            TrajectoryPoint point = new TrajectoryPoint();
-
-            point.position = Drivetrain.GEAR_RATIO * Conversions.convertPosition(PositionUnit.FEET, (seg.position*METERS_TO_FEET), PositionUnit.ENCODER_UNITS);
-            point.velocity = Drivetrain.GEAR_RATIO * Conversions.convertSpeed(SpeedUnit.FEET_PER_SECOND, (seg.velocity * METERS_TO_FEET), SpeedUnit.ENCODER_UNITS);
-            point.profileSlotSelect0 = Drivetrain.DRIVE_MOTION_PROF_SLOT;
-            point.isLastPoint = i == traj.length() - 1;
-            point.arbFeedFwd = point.velocity > 0 ? Drivetrain.DRIVE_MOTION_PROF_kS : 0;
-            point.timeDur = 0; //Set timeDur to zero because the Motion Profile period was already configured
-            point.zeroPos = i == 0; //Zero on first point in profile
-
-            stream.Write(point);
+    /**
+     * Loads the path into the eight controllers, so starting the command only has to enable the profiles.
+     * Can be called while disabled or while another command drives, since the controllers keep their control mode.
+     *
+     * Each module's angles are offset to the turn the module is on now, and its drive positions to where its drive encoder
+     * is now. The drive encoders are never zeroed, so SwerveOdometry keeps counting across the path. If a module turned
+     * to another turn or its wheel rolled by the time the command starts, initialize() arms again.
+     *
+     * @return False if the path is not ready yet
+     */
+    public boolean arm() {
+        if (!isReady()) {
+            return false;
         }
-
-        return stream;
+        disarm();
+        angles = anglesFuture.join();
+        trajectories = trajectoriesFuture.join();
+
+        ConfigRegistry registry = ConfigRegistry.getInstance();
+        Drivetrain.getInstance().applyToAllDrive((driveMotor) -> registry.apply(driveMotor, profileConfig));
+        Drivetrain.getInstance().applyToAllAngle((angleMotor) -> registry.apply(angleMotor, profileConfig));
+
+        DrivetrainSnapshot snapshot = Drivetrain.getInstance().getSnapshot();
+        ModuleTrajectorySet traj = trajectories;
+        double[] angles = this.angles;
+        int length = traj.length();
+        DRIVE_POINTS.set(length);
+        ANGLE_POINTS.set(length);
+
+        feeder = new MotionProfileFeeder(MIN_BUFFERED_POINTS, Drivetrain.getInstance().getClock());
+        for (int i = 0; i < SwerveKinematics.MODULE_COUNT; i++) {
+            int module = i;
+            double offset = getAngleOffset(angles, length, module, snapshot.getAngleDegrees(module));
+            double drivePosition = snapshot.getDrivePosition(module);
+            armedOffsets[module] = offset;
+            armedDrivePositions[module] = drivePosition;
+            feeder.add(Drivetrain.getInstance().getModule(module).getDriveMotor(), length,
+                (index, point) -> getDrivePoint(traj, module, index, drivePosition, point));
+            feeder.add(Drivetrain.getInstance().getModule(module).getAngleMotor(), length,
+                (index, point) -> getAnglePoint(traj, angles, module, index, offset, point));
+        }
+        feeder.arm(timeDur, !Hardware.isSimulated());
+        armed = true;
+        return true;
     }
 
-    private static BufferedTrajectoryPointStream createAngleStreamFromTrajectory(Trajectory traj, SwerveModule module) {
-        BufferedTrajectoryPointStream stream = new BufferedTrajectoryPointStream();
+    /**
+     * Returns true if the path is loaded into the controllers and waiting for the command to start
+     */
+    public boolean isArmed() {
+        return armed;
+    }
 
-        SmartDashboard.putNumber("Angle Points", traj.length());
-        for (int i = 0; i < traj.length(); i++) {
-            Segment seg = traj.get(i);
-            TrajectoryPoint point = new TrajectoryPoint();
+    /**
+     * Stops loading an armed path and clears it from the controllers.
+     */
+    public void disarm() {
+        if (feeder != null) {
+            feeder.stop();
+            feeder = null;
+            Drivetrain.getInstance().applyToAllDrive((talon) -> talon.clearMotionProfileTrajectories());
+            Drivetrain.getInstance().applyToAllAngle((talon) -> talon.clearMotionProfileTrajectories());
+        }
+        armed = false;
+    }
 
-            SmartDashboard.putNumber("Heading", seg.heading);
-            point.position = (Drivetrain.convertAngle(module, Math.toDegrees(seg.heading)) / 360) * 4096;
-            point.profileSlotSelect0 = Drivetrain.ANGLE_MOTION_PROF_SLOT;
-            point.isLastPoint = i == traj.length() - 1;
-            point.arbFeedFwd = 0;
-            point.timeDur = 0; //Set timeDur to zero because the Motion Profile period was already configured
-            point.zeroPos = false; //Never change the angle encoder positions
+    /**
+     * Returns true if every module is still on the turn its armed angles were offset to,
+     * and its drive encoder is still where its armed drive positions start
+     */
+    private boolean isArmedOffsetCurrent() {
+        DrivetrainSnapshot snapshot = Drivetrain.getInstance().getSnapshot();
+        for (int i = 0; i < SwerveKinematics.MODULE_COUNT; i++) {
+            if (getAngleOffset(angles, trajectories.length(), i, snapshot.getAngleDegrees(i)) != armedOffsets[i]) {
+                return false;
+            }
+            if (Math.abs(snapshot.getDrivePosition(i) - armedDrivePositions[i]) > MAX_DRIVE_POSITION_CHANGE) {
+                return false;
+            }
+        }
+        return true;
+    }
 
-            stream.Write(point);
+    @Override
+    public void initialize() {
+        failed = false;
+        if (!armed || !isArmedOffsetCurrent()) {
+            try {
+                anglesFuture.get(READY_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                failed = true;
+                DriverStation.reportError("Path is still being generated, not starting " + getName(), false);
+                return;
+            } catch (ExecutionException e) {
+                failed = true;
+                DriverStation.reportError("Could not generate path for " + getName() + ": " + e.getCause(), false);
+                return;
+            } catch (InterruptedException e) {
+                failed = true;
+                Thread.currentThread().interrupt();
+                return;
+            }
+            arm();
         }
+        armed = false;
+        startMeasured = false;
 
-        return stream;
+        StatusFrameScheduler.getInstance().setCommandProfile(StatusFrameScheduler.Profile.MOTION_PROFILE);
+        feeder.fire();
+    }
+
+    /**
+     * Sets a point to segment index of a module's drive profile, starting from the module's drive encoder position.
+     *
+     * @param startPosition The drive encoder position in encoder ticks when the path was armed
+     */
+    static void getDrivePoint(ModuleTrajectorySet traj, int module, int index, double startPosition, TrajectoryPoint point) {
+        point.position = startPosition + Drivetrain.GEAR_RATIO * Conversions.convertPosition(PositionUnit.FEET, (traj.getPosition(module, index)*METERS_TO_FEET), PositionUnit.ENCODER_UNITS);
+        point.velocity = Drivetrain.GEAR_RATIO * Conversions.convertSpeed(SpeedUnit.FEET_PER_SECOND, (traj.getVelocity(module, index) * METERS_TO_FEET), SpeedUnit.ENCODER_UNITS);
+        point.profileSlotSelect0 = Drivetrain.DRIVE_MOTION_PROF_SLOT;
+        point.isLastPoint = index == traj.length() - 1;
+        point.arbFeedFwd = point.velocity > 0 ? Drivetrain.DRIVE_MOTION_PROF_kS : 0;
+        point.timeDur = 0; //Set timeDur to zero because the Motion Profile period was already configured
+        point.zeroPos = false; //Never zero the drive encoders, SwerveOdometry integrates them
+    }
+
+    /**
+     * Gets the whole turns in degrees to add to a module's unwrapped angles so its first angle is within 180 degrees
+     * of the module's current angle.
+     */
+    static double getAngleOffset(double[] angles, int length, int module, double currentAngle) {
+        return 360 * Math.round((currentAngle - angles[module * length]) / 360);
+    }
+
+    /**
+     * Sets a point to segment index of a module's angle profile, from the unwrapped angles shifted by the module's offset.
+     */
+    static void getAnglePoint(ModuleTrajectorySet traj, double[] angles, int module, int index, double offset, TrajectoryPoint point) {
+        HEADING.set(traj.getHeading(module, index));
+        point.position = ((angles[module * traj.length() + index] + offset) / 360) * 4096;
+        point.velocity = 0;
+        point.profileSlotSelect0 = Drivetrain.ANGLE_MOTION_PROF_SLOT;
+        point.isLastPoint = index == traj.length() - 1;
+        point.arbFeedFwd = 0;
+        point.timeDur = 0; //Set timeDur to zero because the Motion Profile period was already configured
+        point.zeroPos = false; //Never change the angle encoder positions
     }
 
     @Override
     public void execute() {
-        SmartDashboard.putNumber("Top Left Velocity", Drivetrain.getInstance().getTopLeft().getDriveMotor().getActiveTrajectoryVelocity());
-        SmartDashboard.putNumber("Top Left Angle Error", Drivetrain.getInstance().getTopLeft().getAngleMotor().getClosedLoopError());
-        SmartDashboard.putNumber("Top Left Drive Error", Drivetrain.getInstance().getTopLeft().getDriveMotor().getClosedLoopError());
-        
-        // SmartDashboard.putNumber("Top Right Velocity", Drivetrain.getInstance().getTopRight().getDriveMotor().getActiveTrajectoryVelocity());
-        // SmartDashboard.putNumber("Top Right Angle Error", Drivetrain.getInstance().getTopRight().getAngleMotor().getClosedLoopError());
-        // SmartDashboard.putNumber("Top Right Drive Error", Drivetrain.getInstance().getTopRight().getDriveMotor().getClosedLoopError());
-
-        // SmartDashboard.putNumber("Back Left Velocity", Drivetrain.getInstance().getBackLeft().getDriveMotor().getActiveTrajectoryVelocity());
-        // SmartDashboard.putNumber("Back Left Angle Error", Drivetrain.getInstance().getBackLeft().getAngleMotor().getClosedLoopError());
-        // SmartDashboard.putNumber("Back Left Drive Error", Drivetrain.getInstance().getBackLeft().getDriveMotor().getClosedLoopError());
-
-        // SmartDashboard.putNumber("Back Right Velocity", Drivetrain.getInstance().getBackRight().getDriveMotor().getActiveTrajectoryVelocity());
-        // SmartDashboard.putNumber("Back Right Angle Error", Drivetrain.getInstance().getBackRight().getAngleMotor().getClosedLoopError());
-        // SmartDashboard.putNumber("Back Right Drive Error", Drivetrain.getInstance().getBackRight().getDriveMotor().getClosedLoopError());
-    
-        MotionProfileStatus tlDriveStatus = new MotionProfileStatus();
-        MotionProfileStatus tlAngleStatus = new MotionProfileStatus();
-        Drivetrain.getInstance().getTopLeft().getAngleMotor().getMotionProfileStatus(tlAngleStatus);
-        Drivetrain.getInstance().getTopLeft().getDriveMotor().getMotionProfileStatus(tlDriveStatus);
+        if (failed) {
+            return;
+        }
+        long start = EXECUTE_PROFILE.start();
+        if (Hardware.isSimulated()) {
+            feeder.update();
+        }
+        if (!startMeasured) {
+            reportStartSkew();
+        }
+
+        //The feeder polls every controller's buffer, in the order they were added: drive then angle of each module
+        DrivetrainSnapshot snapshot = Drivetrain.getInstance().getSnapshot();
+        for (int i = 0; i < SwerveKinematics.MODULE_COUNT; i++) {
+            VELOCITIES[i].set(Drivetrain.getInstance().getModule(i).getDriveMotor().getActiveTrajectoryVelocity());
+            ANGLE_ERRORS[i].set(snapshot.getAngleError(i));
+            DRIVE_ERRORS[i].set(snapshot.getDriveError(i));
+
+            DRIVE_BUFFERS[i].set(feeder.getBufferedPoints(2 * i));
+            ANGLE_BUFFERS[i].set(feeder.getBufferedPoints(2 * i + 1));
+            UNDERRUNS[i].set(feeder.hasUnderrun(2 * i) || feeder.hasUnderrun(2 * i + 1));
+            FlightRecorder.getInstance().setProfileBuffer(i, feeder.getBottomBufferedPoints(2 * i));
+        }
+        PREDICTED_UNDERRUNS.set(feeder.getPredictedUnderruns());
+        PROGRESS.set(feeder.getProgress());
+        EXECUTE_PROFILE.stop(start);
+    }
 
-        System.out.println(tlDriveStatus.btmBufferCnt);
-        SmartDashboard.putNumber("TL Drive Top Buffer", tlDriveStatus.topBufferCnt);
-        SmartDashboard.putNumber("TL Drive Btm Buffer", tlDriveStatus.btmBufferCnt);
-        SmartDashboard.putNumber("TL Angle Top Buffer", tlAngleStatus.topBufferCnt);
-        SmartDashboard.putNumber("TL Angle Btm Buffer", tlAngleStatus.btmBufferCnt);
-        SmartDashboard.putBoolean("TL Drive Has Overrun", tlDriveStatus.hasUnderrun);
-        SmartDashboard.putBoolean("TL Angle Has Overrun", tlAngleStatus.hasUnderrun);
+    /**
+     * Reports how far apart the eight controllers started their profiles, once all of them were seen running.
+     */
+    private void reportStartSkew() {
+        long skew = feeder.getStartSkewNanos();
+        if (skew < 0) {
+            return;
+        }
+        START_SKEW.set(skew / 1e6);
+        START_LATENCY.set(feeder.getStartLatencyNanos() / 1e6);
+        if (skew > timeDur * 1_000_000L) {
+            DriverStation.reportWarning(String.format("The modules of %s started %.1f ms apart, more than one %d ms point", getName(), skew / 1e6, timeDur), false);
+        }
+        startMeasured = true;
     }
 
     @Override
     public boolean isFinished() {
-        return false; //Holds Motion Profile Indefinitely, for testing
-        //return Drivetrain.getInstance().getTopLeft().getAngleMotor().isMotionProfileFinished() && Drivetrain.getInstance().getTopLeft().getDriveMotor().isMotionProfileFinished();
+        //The Talons hold the last point once the command ends
+        return failed || feeder.isFinished();
+    }
+
+    @Override
+    protected void end() {
+        if (feeder != null) {
+            feeder.stop();
+            feeder = null;
+        }
+        StatusFrameScheduler.getInstance().clearCommandProfile();
     }
 
     @Override
     protected void interrupted() {
+        end();
         Drivetrain.getInstance().applyToAllDrive((talon) -> talon.clearMotionProfileTrajectories());
         Drivetrain.getInstance().applyToAllAngle((talon) -> talon.clearMotionProfileTrajectories());
     }
@@ -3,9 +3,12 @@ package frc.robot.commands;
 import com.ctre.phoenix.motorcontrol.ControlMode;
 
 import edu.wpi.first.wpilibj.command.Command;
-import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
 import frc.robot.OI;
 import frc.robot.subsystems.Drivetrain;
+import frc.robot.util.DrivetrainSnapshot;
+import frc.robot.util.LoopProfiler;
+import frc.robot.util.SwerveKinematics;
+import frc.robot.util.Telemetry;
 
 /**
  * Runs each swerve module with the same output.
@@ -20,12 +23,24 @@ import frc.robot.subsystems.Drivetrain;
  */
 public class SwerveTest extends Command {
     private static final double OUTPUT = 0.2;
+    private static final LoopProfiler.Section EXECUTE_PROFILE = LoopProfiler.getInstance().register("SwerveTest.execute");
+
+    private static final Telemetry.Channel[] ANGLE_POSITIONS = new Telemetry.Channel[SwerveKinematics.MODULE_COUNT];
+    private static final Telemetry.Channel[] DRIVE_POSITIONS = new Telemetry.Channel[SwerveKinematics.MODULE_COUNT];
+
+    static {
+        for (int i = 0; i < SwerveKinematics.MODULE_COUNT; i++) {
+            ANGLE_POSITIONS[i] = Telemetry.getInstance().register("dt " + Drivetrain.MODULE_NAMES[i].toLowerCase() + " angle");
+            DRIVE_POSITIONS[i] = Telemetry.getInstance().register("dt " + Drivetrain.MODULE_NAMES[i].toLowerCase() + " drive");
+        }
+    }
 
     public SwerveTest() {
         requires(Drivetrain.getInstance());
     }
 
     public void execute() {
+        long start = EXECUTE_PROFILE.start();
         if(OI.getInstance().getDriverGamepad().getButtonAState()) {
             Drivetrain.getInstance().getTopRight().getDriveMotor().set(ControlMode.PercentOutput, OUTPUT);
             Drivetrain.getInstance().getBackRight().getDriveMotor().set(ControlMode.PercentOutput, OUTPUT);
@@ -61,15 +76,12 @@ public class SwerveTest extends Command {
             Drivetrain.getInstance().getBackLeft().getAngleMotor().set(ControlMode.Disabled, 0);
         }
 
-        SmartDashboard.putNumber("dt tr angle", Drivetrain.getInstance().getTopRight().getAngleMotor().getSelectedSensorPosition());
-        SmartDashboard.putNumber("dt tl angle", Drivetrain.getInstance().getTopLeft().getAngleMotor().getSelectedSensorPosition());
-        SmartDashboard.putNumber("dt br angle", Drivetrain.getInstance().getBackRight().getAngleMotor().getSelectedSensorPosition());
-        SmartDashboard.putNumber("dt bl angle", Drivetrain.getInstance().getBackLeft().getAngleMotor().getSelectedSensorPosition());
-
-        SmartDashboard.putNumber("dt tr drive", Drivetrain.getInstance().getTopRight().getDriveMotor().getSelectedSensorPosition());
-        SmartDashboard.putNumber("dt tl drive", Drivetrain.getInstance().getTopLeft().getDriveMotor().getSelectedSensorPosition());
-        SmartDashboard.putNumber("dt br drive", Drivetrain.getInstance().getBackRight().getDriveMotor().getSelectedSensorPosition());
-        SmartDashboard.putNumber("dt bl drive", Drivetrain.getInstance().getBackLeft().getDriveMotor().getSelectedSensorPosition());
+        DrivetrainSnapshot snapshot = Drivetrain.getInstance().getSnapshot();
+        for (int i = 0; i < SwerveKinematics.MODULE_COUNT; i++) {
+            ANGLE_POSITIONS[i].set(snapshot.getAnglePosition(i));
+            DRIVE_POSITIONS[i].set(snapshot.getDrivePosition(i));
+        }
+        EXECUTE_PROFILE.stop(start);
     }
 
     public void end() {
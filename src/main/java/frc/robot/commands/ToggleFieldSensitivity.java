@@ -4,18 +4,19 @@ import edu.wpi.first.wpilibj.command.InstantCommand;
 import frc.robot.subsystems.Drivetrain;
 
 public class ToggleFieldSensitivity extends InstantCommand {
-    private final static int TIMEOUT = 500;
+    private final static long TIMEOUT = 500_000_000; //ns
     private static long lastExecututionTime;
 
     public ToggleFieldSensitivity() {
         // this is a constructor
-        lastExecututionTime = System.currentTimeMillis();
+        lastExecututionTime = Drivetrain.getInstance().getClock().nanoTime();
     }
 
     public void initialize() {
-        if((int)(System.currentTimeMillis() - lastExecututionTime) > TIMEOUT) {
+        long currentTime = Drivetrain.getInstance().getClock().nanoTime();
+        if(currentTime - lastExecututionTime > TIMEOUT) {
             Drivetrain.getInstance().toggleFieldSensitivity();
-            lastExecututionTime = System.currentTimeMillis();
+            lastExecututionTime = currentTime;
         }
     }
 }
\ No newline at end of file
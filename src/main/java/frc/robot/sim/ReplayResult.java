@@ -0,0 +1,86 @@
+package frc.robot.sim;
+
+/**
+ * How closely the module setpoints produced by a replay matched the recorded ones.
+ *
+ * @since 10/16/26
+ */
+public class ReplayResult {
+    private final int records;
+    private final double duration;
+    private final int compared;
+    private final int mismatches;
+    private final int firstMismatch;
+    private final double maxAngleDifference;
+    private final double maxDriveDifference;
+
+    public ReplayResult(int records, double duration, int compared, int mismatches, int firstMismatch, double maxAngleDifference, double maxDriveDifference) {
+        this.records = records;
+        this.duration = duration;
+        this.compared = compared;
+        this.mismatches = mismatches;
+        this.firstMismatch = firstMismatch;
+        this.maxAngleDifference = maxAngleDifference;
+        this.maxDriveDifference = maxDriveDifference;
+    }
+
+    /**
+     * Gets the number of replayed records
+     */
+    public int getRecords() {
+        return records;
+    }
+
+    /**
+     * Gets the recorded time between the first and last record in seconds
+     */
+    public double getDuration() {
+        return duration;
+    }
+
+    /**
+     * Gets the number of records whose setpoints were compared (the teleop records)
+     */
+    public int getCompared() {
+        return compared;
+    }
+
+    /**
+     * Gets the number of records where a setpoint differed by more than its tolerance
+     */
+    public int getMismatches() {
+        return mismatches;
+    }
+
+    /**
+     * Gets the index of the first mismatched record, or -1 if every record matched
+     */
+    public int getFirstMismatch() {
+        return firstMismatch;
+    }
+
+    /**
+     * Gets the largest difference between a replayed and recorded angle setpoint in encoder ticks
+     */
+    public double getMaxAngleDifference() {
+        return maxAngleDifference;
+    }
+
+    /**
+     * Gets the largest difference between a replayed and recorded drive setpoint (percent output or feet per second)
+     */
+    public double getMaxDriveDifference() {
+        return maxDriveDifference;
+    }
+
+    /**
+     * The column names of toCsv()
+     */
+    public static String getCsvHeader() {
+        return "records,duration,compared,mismatches,firstMismatch,maxAngleDifference,maxDriveDifference";
+    }
+
+    public String toCsv() {
+        return records + "," + duration + "," + compared + "," + mismatches + "," + firstMismatch + "," + maxAngleDifference + "," + maxDriveDifference;
+    }
+}
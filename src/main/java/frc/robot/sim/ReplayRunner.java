@@ -0,0 +1,237 @@
+package frc.robot.sim;
+
+import java.io.File;
+import java.io.IOException;
+
+import edu.wpi.first.hal.HAL;
+import edu.wpi.first.hal.sim.DriverStationSim;
+import edu.wpi.first.wpilibj.DriverStation;
+import edu.wpi.first.wpilibj.command.Scheduler;
+import frc.robot.OI;
+import frc.robot.subsystems.Drivetrain;
+import frc.robot.util.DriveInput;
+import frc.robot.util.FlightLogReader;
+import frc.robot.util.FlightRecorder;
+import frc.robot.util.SwerveKinematics;
+import frc.robot.util.SwerveModule;
+import frc.robot.util.VirtualClock;
+import frc.robot.util.hardware.Hardware;
+import frc.robot.util.hardware.SimulatedPigeon;
+import frc.robot.util.hardware.SimulatedTalon;
+
+/**
+ * Replays a FlightRecorder recording through the robot code and compares the module setpoints it produces
+ * with the recorded ones, to check that a change to SwerveManual or the kinematics did not change how the robot drives.
+ *
+ * For every record, the recorded encoder readings, closed loop errors, pigeon heading, time, robot mode,
+ * field sensitivity and joystick input are loaded into simulated hardware, then the Scheduler runs once, exactly like
+ * Robot.robotPeriodic(). Nothing is physically simulated and nothing waits for real time, so hours of driving replay in seconds.
+ *
+ * Setpoints are only compared in teleop records. Commands started from buttons are not replayed,
+ * so recordings used for regression runs should only contain driving with SwerveManual.
+ *
+ * Usage (through ./gradlew replay -Pargs="..."):
+ *      FILE [--angle-tolerance TICKS] [--drive-tolerance OUTPUT]
+ * Exits with status 1 if any setpoint differs by more than its tolerance (default 0, bit for bit).
+ *
+ * @since 10/16/26
+ */
+public class ReplayRunner {
+    private static final int HAL_TIMEOUT = 500;
+
+    private final DriverStationSim driverStation;
+    private final Drivetrain drivetrain;
+    private final SimulatedTalon[] driveMotors;
+    private final SimulatedTalon[] angleMotors;
+    private final SimulatedPigeon pigeon;
+    private final VirtualClock clock;
+    private final RecordedDriveInput input;
+
+    /**
+     * Starts the simulation HAL and creates the drivetrain with simulated hardware.
+     */
+    public ReplayRunner() {
+        Hardware.setSimulated(true);
+        HAL.initialize(HAL_TIMEOUT, 0);
+
+        driverStation = new DriverStationSim();
+        driverStation.setDsAttached(true);
+
+        input = new RecordedDriveInput();
+        OI.getInstance().setDriveInput(input);
+
+        drivetrain = Drivetrain.getInstance();
+        driveMotors = new SimulatedTalon[SwerveKinematics.MODULE_COUNT];
+        angleMotors = new SimulatedTalon[SwerveKinematics.MODULE_COUNT];
+        for (int i = 0; i < SwerveKinematics.MODULE_COUNT; i++) {
+            driveMotors[i] = (SimulatedTalon) drivetrain.getModule(i).getDriveMotor();
+            angleMotors[i] = (SimulatedTalon) drivetrain.getModule(i).getAngleMotor();
+        }
+        pigeon = (SimulatedPigeon) drivetrain.getPigeon();
+
+        clock = new VirtualClock();
+        drivetrain.setClock(clock);
+    }
+
+    /**
+     * Replays every record of a recording.
+     *
+     * @param angleTolerance The largest difference in angle setpoints (encoder ticks) that is not a mismatch
+     * @param driveTolerance The largest difference in drive setpoints (percent output or feet per second) that is not a mismatch
+     */
+    public ReplayResult run(FlightLogReader log, double angleTolerance, double driveTolerance) throws InterruptedException {
+        Scheduler.getInstance().removeAll();
+        input.log = log;
+
+        int mode = -1;
+        int compared = 0;
+        int mismatches = 0;
+        int firstMismatch = -1;
+        double maxAngleDifference = 0;
+        double maxDriveDifference = 0;
+
+        for (int record = 0; record < log.getRecordCount(); record++) {
+            int recordedMode = (int) log.get(record, FlightRecorder.MODE);
+            if (recordedMode != mode) {
+                mode = recordedMode;
+                setMode(mode);
+            }
+            load(log, record);
+
+            Scheduler.getInstance().run();
+
+            if (mode != FlightRecorder.MODE_TELEOP) {
+                continue;
+            }
+
+            boolean mismatch = false;
+            for (int i = 0; i < SwerveKinematics.MODULE_COUNT; i++) {
+                SwerveModule module = drivetrain.getModule(i);
+                double angleDifference = Math.abs(module.getAngleSetpoint() - log.get(record, i, FlightRecorder.ANGLE_SETPOINT));
+                double driveDifference = Math.abs(module.getDriveSetpoint() - log.get(record, i, FlightRecorder.DRIVE_SETPOINT));
+                maxAngleDifference = Math.max(maxAngleDifference, angleDifference);
+                maxDriveDifference = Math.max(maxDriveDifference, driveDifference);
+                mismatch |= angleDifference > angleTolerance || driveDifference > driveTolerance;
+            }
+
+            compared++;
+            if (mismatch) {
+                mismatches++;
+                if (firstMismatch < 0) {
+                    firstMismatch = record;
+                }
+            }
+        }
+        Scheduler.getInstance().removeAll();
+
+        double duration = log.getRecordCount() > 0 ? (log.getTimestamp(log.getRecordCount() - 1) - log.getTimestamp(0)) / 1e9 : 0;
+        return new ReplayResult(log.getRecordCount(), duration, compared, mismatches, firstMismatch, maxAngleDifference, maxDriveDifference);
+    }
+
+    /**
+     * Puts a record's sensor readings into the simulated hardware, for Drivetrain.periodic() to sample
+     */
+    private void load(FlightLogReader log, int record) {
+        for (int i = 0; i < SwerveKinematics.MODULE_COUNT; i++) {
+            driveMotors[i].setSensorState(log.get(record, i, FlightRecorder.DRIVE_POSITION),
+                log.get(record, i, FlightRecorder.DRIVE_VELOCITY), log.get(record, i, FlightRecorder.DRIVE_ERROR));
+            angleMotors[i].setSensorState(log.get(record, i, FlightRecorder.ANGLE_POSITION),
+                log.get(record, i, FlightRecorder.ANGLE_VELOCITY), log.get(record, i, FlightRecorder.ANGLE_ERROR));
+        }
+        pigeon.setFusedHeading(log.get(record, FlightRecorder.PIGEON_HEADING));
+        drivetrain.setFieldSensitive(log.get(record, FlightRecorder.FIELD_SENSITIVE) != 0);
+        clock.setNanoTime(log.getTimestamp(record));
+        input.record = record;
+    }
+
+    /**
+     * Changes the simulated robot's mode and waits until the DriverStation class sees it,
+     * so commands start and stop on the same record as they did on the robot.
+     */
+    private void setMode(int mode) throws InterruptedException {
+        boolean enabled = mode != FlightRecorder.MODE_DISABLED;
+        boolean autonomous = mode == FlightRecorder.MODE_AUTONOMOUS;
+        boolean test = mode == FlightRecorder.MODE_TEST;
+
+        driverStation.setAutonomous(autonomous);
+        driverStation.setTest(test);
+        driverStation.setEnabled(enabled);
+        driverStation.notifyNewData();
+
+        DriverStation ds = DriverStation.getInstance();
+        while (ds.isEnabled() != enabled || ds.isAutonomous() != autonomous || ds.isTest() != test) {
+            Thread.sleep(1);
+        }
+    }
+
+    /**
+     * Returns the joystick input of the record being replayed.
+     */
+    private static class RecordedDriveInput implements DriveInput {
+        private FlightLogReader log;
+        private int record;
+
+        public double getTranslateX() {
+            return log.get(record, FlightRecorder.INPUT_X);
+        }
+
+        public double getTranslateY() {
+            return log.get(record, FlightRecorder.INPUT_Y);
+        }
+
+        public double getTurn() {
+            return log.get(record, FlightRecorder.INPUT_TURN);
+        }
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length < 1 || args.length % 2 != 1) {
+            exitWithUsage();
+        }
+
+        double angleTolerance = 0;
+        double driveTolerance = 0;
+        for (int i = 1; i < args.length; i += 2) {
+            switch (args[i]) {
+                case "--angle-tolerance":
+                    angleTolerance = parseTolerance(args[i + 1]);
+                    break;
+                case "--drive-tolerance":
+                    driveTolerance = parseTolerance(args[i + 1]);
+                    break;
+                default:
+                    exitWithUsage();
+            }
+        }
+
+        FlightLogReader log = new FlightLogReader(new File(args[0]));
+        ReplayRunner runner = new ReplayRunner();
+
+        long startTime = System.nanoTime();
+        ReplayResult result = runner.run(log, angleTolerance, driveTolerance);
+        double realTime = (System.nanoTime() - startTime) / 1e9;
+
+        System.out.println(ReplayResult.getCsvHeader());
+        System.out.println(result.toCsv());
+        System.err.printf("Replayed %.1f s in %.2f s (%.0fx real time)%n", result.getDuration(), realTime, result.getDuration() / realTime);
+        System.exit(result.getMismatches() == 0 ? 0 : 1);
+    }
+
+    private static double parseTolerance(String value) {
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            System.err.println("Not a number: " + value);
+            exitWithUsage();
+            return 0;
+        }
+    }
+
+    /**
+     * Prints the usage and exits with status 2, so a misconfigured replay fails the build instead of passing it
+     */
+    private static void exitWithUsage() {
+        System.err.println("Usage: FILE [--angle-tolerance TICKS] [--drive-tolerance OUTPUT]");
+        System.exit(2);
+    }
+}
@@ -0,0 +1,109 @@
+package frc.robot.sim;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.DoubleSupplier;
+
+import frc.robot.util.DriveInput;
+
+/**
+ * Driver inputs that follow a script instead of a gamepad, for driving SwerveManual in simulation.
+ *
+ * A script is a list of steps, each holding joystick values from its start time until the next step starts.
+ * In a script file every line is one step: "time translateX translateY turn", with the time in seconds.
+ * Blank lines and lines starting with # are ignored.
+ *
+ * @since 10/16/26
+ */
+public class ScriptedDriveInput implements DriveInput {
+    private final double[] times;
+    private final double[] translateX;
+    private final double[] translateY;
+    private final double[] turn;
+    private final DoubleSupplier clock;
+
+    /**
+     * @param steps The steps of the script as {time, translateX, translateY, turn}, sorted by time
+     * @param clock Supplies the current simulated time in seconds
+     */
+    public ScriptedDriveInput(double[][] steps, DoubleSupplier clock) {
+        times = new double[steps.length];
+        translateX = new double[steps.length];
+        translateY = new double[steps.length];
+        turn = new double[steps.length];
+        for (int i = 0; i < steps.length; i++) {
+            times[i] = steps[i][0];
+            translateX[i] = steps[i][1];
+            translateY[i] = steps[i][2];
+            turn[i] = steps[i][3];
+        }
+        this.clock = clock;
+    }
+
+    /**
+     * Reads a script file.
+     *
+     * @param clock Supplies the current simulated time in seconds
+     */
+    public static ScriptedDriveInput load(Path file, DoubleSupplier clock) throws IOException {
+        List<String> lines = Files.readAllLines(file);
+        double[][] steps = new double[lines.size()][];
+        int count = 0;
+
+        for (String line : lines) {
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+
+            String[] values = line.split("\\s+");
+            if (values.length != 4) {
+                throw new IOException("Expected \"time translateX translateY turn\" in " + file + ": " + line);
+            }
+            steps[count] = new double[values.length];
+            for (int i = 0; i < values.length; i++) {
+                steps[count][i] = Double.parseDouble(values[i]);
+            }
+            count++;
+        }
+
+        return new ScriptedDriveInput(Arrays.copyOf(steps, count), clock);
+    }
+
+    /**
+     * Gets the time the last step starts
+     */
+    public double getDuration() {
+        return times.length == 0 ? 0 : times[times.length - 1];
+    }
+
+    private int getStep() {
+        double time = clock.getAsDouble();
+        int step = -1;
+        while (step + 1 < times.length && times[step + 1] <= time) {
+            step++;
+        }
+        return step;
+    }
+
+    @Override
+    public double getTranslateX() {
+        int step = getStep();
+        return step < 0 ? 0 : translateX[step];
+    }
+
+    @Override
+    public double getTranslateY() {
+        int step = getStep();
+        return step < 0 ? 0 : translateY[step];
+    }
+
+    @Override
+    public double getTurn() {
+        int step = getStep();
+        return step < 0 ? 0 : turn[step];
+    }
+}
@@ -0,0 +1,38 @@
+package frc.robot.sim;
+
+import java.util.function.DoubleConsumer;
+
+import frc.robot.subsystems.Drivetrain;
+import frc.robot.util.hardware.ConfigRegistry;
+import frc.robot.util.hardware.MotorController;
+import frc.robot.util.hardware.TalonConfig;
+
+/**
+ * Gains that SwerveSimulation can sweep. Each one is applied to the simulated drivetrain through the ConfigRegistry, the same way Drivetrain configures it.
+ *
+ * @since 10/16/26
+ */
+public enum SimulatedGain {
+    DRIVE_VELOCITY_KP((value) -> Drivetrain.getInstance().applyToAllDrive((talon) -> apply(talon, new TalonConfig().config_kP(Drivetrain.DRIVE_VELOCITY_SLOT, value)))),
+    DRIVE_VELOCITY_KF((value) -> Drivetrain.getInstance().applyToAllDrive((talon) -> apply(talon, new TalonConfig().config_kF(Drivetrain.DRIVE_VELOCITY_SLOT, value)))),
+    ANGLE_POSITION_KP((value) -> Drivetrain.getInstance().applyToAllAngle((talon) -> apply(talon, new TalonConfig().config_kP(Drivetrain.ANGLE_POSITION_SLOT, value)))),
+    ANGLE_POSITION_KD((value) -> Drivetrain.getInstance().applyToAllAngle((talon) -> apply(talon, new TalonConfig().config_kD(Drivetrain.ANGLE_POSITION_SLOT, value)))),
+    DRIVE_MOTION_PROF_kP((value) -> Drivetrain.getInstance().applyToAllDrive((talon) -> apply(talon, new TalonConfig().config_kP(Drivetrain.DRIVE_MOTION_PROF_SLOT, value)))),
+    DRIVE_MOTION_PROF_kD((value) -> Drivetrain.getInstance().applyToAllDrive((talon) -> apply(talon, new TalonConfig().config_kD(Drivetrain.DRIVE_MOTION_PROF_SLOT, value)))),
+    ANGLE_MOTION_PROF_kP((value) -> Drivetrain.getInstance().applyToAllAngle((talon) -> apply(talon, new TalonConfig().config_kP(Drivetrain.ANGLE_MOTION_PROF_SLOT, value)))),
+    PIGEON_kP((value) -> Drivetrain.getInstance().setPigeonKP(value));
+
+    private final DoubleConsumer setter;
+
+    private SimulatedGain(DoubleConsumer setter) {
+        this.setter = setter;
+    }
+
+    public void apply(double value) {
+        setter.accept(value);
+    }
+
+    private static void apply(MotorController talon, TalonConfig config) {
+        ConfigRegistry.getInstance().apply(talon, config);
+    }
+}
@@ -0,0 +1,89 @@
+package frc.robot.sim;
+
+/**
+ * How well the robot followed its commands during one simulated run.
+ *
+ * Errors are the closed loop errors reported by the simulated Talons, sampled once per scheduler loop
+ * and averaged over all four modules.
+ *
+ * @since 10/16/26
+ */
+public class SimulationResult {
+    private final double duration;
+    private final double x;
+    private final double y;
+    private final double heading;
+    private final double rmsDriveError;
+    private final double rmsAngleError;
+    private final double maxHeadingChange;
+
+    public SimulationResult(double duration, double x, double y, double heading, double rmsDriveError, double rmsAngleError, double maxHeadingChange) {
+        this.duration = duration;
+        this.x = x;
+        this.y = y;
+        this.heading = heading;
+        this.rmsDriveError = rmsDriveError;
+        this.rmsAngleError = rmsAngleError;
+        this.maxHeadingChange = maxHeadingChange;
+    }
+
+    /**
+     * Gets the simulated time in seconds
+     */
+    public double getDuration() {
+        return duration;
+    }
+
+    /**
+     * Gets the final distance to the right of the starting position in meters
+     */
+    public double getX() {
+        return x;
+    }
+
+    /**
+     * Gets the final distance forward from the starting position in meters
+     */
+    public double getY() {
+        return y;
+    }
+
+    /**
+     * Gets the final heading in degrees
+     */
+    public double getHeading() {
+        return heading;
+    }
+
+    /**
+     * Gets the root mean square of the drive motors' closed loop error in encoder ticks (per 100 ms in velocity mode)
+     */
+    public double getRmsDriveError() {
+        return rmsDriveError;
+    }
+
+    /**
+     * Gets the root mean square of the angle motors' closed loop error in encoder ticks
+     */
+    public double getRmsAngleError() {
+        return rmsAngleError;
+    }
+
+    /**
+     * Gets the largest difference from the starting heading during the run in degrees
+     */
+    public double getMaxHeadingChange() {
+        return maxHeadingChange;
+    }
+
+    /**
+     * The column names of toCsv()
+     */
+    public static String getCsvHeader() {
+        return "duration,x,y,heading,rmsDriveError,rmsAngleError,maxHeadingChange";
+    }
+
+    public String toCsv() {
+        return duration + "," + x + "," + y + "," + heading + "," + rmsDriveError + "," + rmsAngleError + "," + maxHeadingChange;
+    }
+}
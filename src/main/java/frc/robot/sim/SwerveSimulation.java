@@ -0,0 +1,272 @@
+package frc.robot.sim;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+
+import edu.wpi.first.hal.HAL;
+import edu.wpi.first.hal.sim.DriverStationSim;
+import edu.wpi.first.wpilibj.DriverStation;
+import edu.wpi.first.wpilibj.command.Command;
+import edu.wpi.first.wpilibj.command.Scheduler;
+import frc.robot.OI;
+import frc.robot.auto.AutoPaths;
+import frc.robot.commands.SwerveDriveWithMotionProfile;
+import frc.robot.subsystems.Drivetrain;
+import frc.robot.util.DriveControlLoop;
+import frc.robot.util.DriveInput;
+import frc.robot.util.SwerveKinematics;
+import frc.robot.util.hardware.Hardware;
+
+/**
+ * Runs the robot code against a SwerveSimulator without a robot, as fast as the computer allows.
+ *
+ * Every loop runs the Scheduler once, exactly like Robot.robotPeriodic(), and then advances the simulation by one
+ * TimedRobot period. Nothing waits for real time to pass, so a 15 second autonomous takes a fraction of a second.
+ * Runs started with the same seed and gains produce the same result.
+ *
+ * Usage (through ./gradlew simulate -Pargs="..."):
+ *      auto PATH [options]      Runs SwerveDriveWithMotionProfile on one of the AutoPaths
+ *      teleop FILE [options]    Runs SwerveManual with inputs from a ScriptedDriveInput script
+ * Options:
+ *      --seed N                 Seed of the first run (default 0)
+ *      --runs N                 Number of runs for every gain value, each with the next seed (default 1)
+ *      --duration SECONDS       Simulated time of every run (default 15 for auto, the script's length + 1 for teleop)
+ *      --sweep GAIN=START:END:STEP   Repeats the runs for every value of a SimulatedGain
+ *      --control-loop true      Drives teleop through DriveControlLoop, ticking it at its rate between scheduler loops
+ *
+ * Results are printed as CSV, one line per run.
+ *
+ * @since 10/16/26
+ */
+public class SwerveSimulation {
+    /**
+     * Seconds between scheduler loops, the period of TimedRobot
+     */
+    public static final double LOOP_PERIOD = 0.02;
+
+    private static final double AUTONOMOUS_DURATION = 15;
+    private static final double TELEOP_EXTRA_DURATION = 1;
+    private static final int HAL_TIMEOUT = 500;
+
+    private static final DriveInput NO_INPUT = new DriveInput() {
+        public double getTranslateX() {
+            return 0;
+        }
+
+        public double getTranslateY() {
+            return 0;
+        }
+
+        public double getTurn() {
+            return 0;
+        }
+    };
+
+    private final DriverStationSim driverStation;
+    private final SwerveSimulator simulator;
+    private boolean useControlLoop;
+
+    /**
+     * Starts the simulation HAL and creates the drivetrain with simulated hardware.
+     */
+    public SwerveSimulation(long seed) {
+        Hardware.setSimulated(true);
+        HAL.initialize(HAL_TIMEOUT, 0);
+
+        driverStation = new DriverStationSim();
+        driverStation.setDsAttached(true);
+
+        OI.getInstance();
+        simulator = new SwerveSimulator(Drivetrain.getInstance(), seed);
+    }
+
+    public SwerveSimulator getSimulator() {
+        return simulator;
+    }
+
+    /**
+     * Sets whether SwerveManual drives through DriveControlLoop. Its update() is called directly
+     * at DriveControlLoop.RATE instead of from its own thread, so runs stay deterministic.
+     */
+    public void setUseControlLoop(boolean useControlLoop) {
+        this.useControlLoop = useControlLoop;
+        DriveControlLoop.getInstance().setEnabled(useControlLoop);
+    }
+
+    /**
+     * Runs a motion profile from the starting position, waiting for its path to be generated first.
+     *
+     * @param duration The simulated time in seconds
+     */
+    public SimulationResult runAutonomous(SwerveDriveWithMotionProfile command, double duration, long seed) throws InterruptedException {
+        while (!command.isReady()) {
+            Thread.sleep(1);
+        }
+        return run(command, true, NO_INPUT, duration, seed);
+    }
+
+    /**
+     * Drives with SwerveManual, the drivetrain's default command, from the starting position.
+     *
+     * @param duration The simulated time in seconds
+     */
+    public SimulationResult runTeleop(DriveInput input, double duration, long seed) throws InterruptedException {
+        return run(null, false, input, duration, seed);
+    }
+
+    private SimulationResult run(Command command, boolean isAutonomous, DriveInput input, double duration, long seed) throws InterruptedException {
+        Scheduler.getInstance().removeAll();
+        simulator.reset(seed);
+        OI.getInstance().setDriveInput(input);
+        enable(isAutonomous);
+
+        if (command != null) {
+            command.start();
+        }
+
+        double driveErrorSquared = 0;
+        double angleErrorSquared = 0;
+        double maxHeadingChange = 0;
+        int loops = (int) Math.round(duration / LOOP_PERIOD);
+        int ticks = useControlLoop ? (int) Math.round(LOOP_PERIOD * DriveControlLoop.RATE) : 1;
+
+        for (int loop = 0; loop < loops; loop++) {
+            Scheduler.getInstance().run();
+            if (useControlLoop) {
+                for (int tick = 0; tick < ticks; tick++) {
+                    DriveControlLoop.getInstance().update();
+                    simulator.step(LOOP_PERIOD / ticks);
+                }
+            } else {
+                simulator.step(LOOP_PERIOD);
+            }
+
+            for (int i = 0; i < SwerveKinematics.MODULE_COUNT; i++) {
+                double driveError = simulator.getDriveMotor(i).getClosedLoopError();
+                double angleError = simulator.getAngleMotor(i).getClosedLoopError();
+                driveErrorSquared += driveError * driveError;
+                angleErrorSquared += angleError * angleError;
+            }
+            maxHeadingChange = Math.max(maxHeadingChange, Math.abs(simulator.getHeading()));
+        }
+        Scheduler.getInstance().removeAll();
+
+        int samples = Math.max(1, loops * SwerveKinematics.MODULE_COUNT);
+        return new SimulationResult(simulator.getTime(), simulator.getX(), simulator.getY(), simulator.getHeading(),
+            Math.sqrt(driveErrorSquared / samples), Math.sqrt(angleErrorSquared / samples), maxHeadingChange);
+    }
+
+    /**
+     * Enables the simulated robot and waits until the DriverStation class sees the new mode,
+     * so no command is cancelled for running while disabled.
+     */
+    private void enable(boolean isAutonomous) throws InterruptedException {
+        driverStation.setAutonomous(isAutonomous);
+        driverStation.setEnabled(true);
+        driverStation.notifyNewData();
+
+        while (!DriverStation.getInstance().isEnabled() || DriverStation.getInstance().isAutonomous() != isAutonomous) {
+            Thread.sleep(1);
+        }
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length < 2) {
+            printUsage();
+            return;
+        }
+
+        long seed = 0;
+        int runs = 1;
+        double duration = Double.NaN;
+        SimulatedGain gain = null;
+        double start = 0;
+        double end = 0;
+        double step = 1;
+        boolean useControlLoop = false;
+
+        for (int i = 2; i < args.length; i += 2) {
+            if (i + 1 >= args.length) {
+                printUsage();
+                return;
+            }
+            switch (args[i]) {
+                case "--seed":
+                    seed = Long.parseLong(args[i + 1]);
+                    break;
+                case "--runs":
+                    runs = Integer.parseInt(args[i + 1]);
+                    break;
+                case "--duration":
+                    duration = Double.parseDouble(args[i + 1]);
+                    break;
+                case "--sweep":
+                    String[] sweep = args[i + 1].split("[=:]");
+                    if (sweep.length != 4) {
+                        printUsage();
+                        return;
+                    }
+                    gain = SimulatedGain.valueOf(sweep[0]);
+                    start = Double.parseDouble(sweep[1]);
+                    end = Double.parseDouble(sweep[2]);
+                    step = Double.parseDouble(sweep[3]);
+                    break;
+                case "--control-loop":
+                    useControlLoop = Boolean.parseBoolean(args[i + 1]);
+                    break;
+                default:
+                    printUsage();
+                    return;
+            }
+        }
+
+        SwerveSimulation simulation = new SwerveSimulation(seed);
+        simulation.setUseControlLoop(useControlLoop);
+        SwerveDriveWithMotionProfile command = null;
+        DriveInput input = null;
+
+        if (args[0].equals("auto")) {
+            command = new SwerveDriveWithMotionProfile(AutoPaths.valueOf(args[1]));
+            if (Double.isNaN(duration)) {
+                duration = AUTONOMOUS_DURATION;
+            }
+        } else if (args[0].equals("teleop")) {
+            ScriptedDriveInput script = ScriptedDriveInput.load(Paths.get(args[1]), simulation.getSimulator()::getTime);
+            input = script;
+            if (Double.isNaN(duration)) {
+                duration = script.getDuration() + TELEOP_EXTRA_DURATION;
+            }
+        } else {
+            printUsage();
+            return;
+        }
+
+        System.out.println("gain,value,seed," + SimulationResult.getCsvHeader());
+        long startTime = System.nanoTime();
+        double simulatedTime = 0;
+
+        int steps = gain == null ? 1 : (int) Math.floor((end - start) / step + 1e-9) + 1;
+        for (int s = 0; s < steps; s++) {
+            double value = start + s * step;
+            if (gain != null) {
+                gain.apply(value);
+            }
+
+            for (int run = 0; run < runs; run++) {
+                SimulationResult result = command != null
+                    ? simulation.runAutonomous(command, duration, seed + run)
+                    : simulation.runTeleop(input, duration, seed + run);
+                simulatedTime += result.getDuration();
+                System.out.println((gain == null ? "" : gain.name()) + "," + (gain == null ? "" : value) + "," + (seed + run) + "," + result.toCsv());
+            }
+        }
+
+        double realTime = (System.nanoTime() - startTime) / 1e9;
+        System.err.printf("Simulated %.1f s in %.2f s (%.0fx real time)%n", simulatedTime, realTime, simulatedTime / realTime);
+        System.exit(0);
+    }
+
+    private static void printUsage() {
+        System.err.println("Usage: auto PATH | teleop FILE [--seed N] [--runs N] [--duration SECONDS] [--sweep GAIN=START:END:STEP] [--control-loop true]");
+    }
+}
@@ -0,0 +1,206 @@
+package frc.robot.sim;
+
+import java.util.Random;
+
+import frc.robot.subsystems.Drivetrain;
+import frc.robot.util.SwerveKinematics;
+import frc.robot.util.SwerveModule;
+import frc.robot.util.VirtualClock;
+import frc.robot.util.hardware.SimulatedPigeon;
+import frc.robot.util.hardware.SimulatedTalon;
+import harkerrobolib.util.Conversions;
+import harkerrobolib.util.Conversions.SpeedUnit;
+
+/**
+ * Moves a simulated drivetrain: steps the eight simulated Talons and integrates the chassis pose from the module states.
+ *
+ * Wheels are assumed not to slip sideways, so the chassis velocity is the least squares fit of the four module velocities.
+ * Random wheel slip and gyro drift are drawn from a seeded generator, so two runs with the same seed and inputs are identical.
+ * The simulator advances the drivetrain's VirtualClock as it steps, so the robot code sees simulated time.
+ *
+ * The field frame has x to the right and y forward from the starting position, headings are counterclockwise positive
+ * like the pigeon's fused heading. A module angle of 0 degrees points forward, matching Drivetrain.convertAngle().
+ *
+ * @since 10/16/26
+ */
+public class SwerveSimulator {
+    private static final double METERS_TO_FEET = 3.28;
+
+    /**
+     * Default standard deviation of the gyro drift in degrees after one second
+     */
+    public static final double DEFAULT_GYRO_DRIFT = 0.05;
+
+    /**
+     * Default standard deviation of each wheel's slip, as a fraction of its speed
+     */
+    public static final double DEFAULT_WHEEL_SLIP = 0.02;
+
+    //Module positions relative to the center of the robot in meters, indexed by the Drivetrain module indices
+    private static final double[] MODULE_X = {-Drivetrain.DT_WIDTH / 2, Drivetrain.DT_WIDTH / 2, -Drivetrain.DT_WIDTH / 2, Drivetrain.DT_WIDTH / 2};
+    private static final double[] MODULE_Y = {Drivetrain.DT_LENGTH / 2, Drivetrain.DT_LENGTH / 2, -Drivetrain.DT_LENGTH / 2, -Drivetrain.DT_LENGTH / 2};
+
+    private final SimulatedTalon[] driveMotors;
+    private final SimulatedTalon[] angleMotors;
+    private final SimulatedPigeon pigeon;
+    private final double gyroDrift;
+    private final double wheelSlip;
+    private final Random random;
+    private final VirtualClock clock;
+
+    private double time;
+    private double x;
+    private double y;
+    private double heading;
+
+    /**
+     * Simulates the drivetrain with the default noise.
+     *
+     * @param drivetrain A drivetrain created with simulated hardware (see Hardware.setSimulated())
+     */
+    public SwerveSimulator(Drivetrain drivetrain, long seed) {
+        this(drivetrain, seed, DEFAULT_GYRO_DRIFT, DEFAULT_WHEEL_SLIP);
+    }
+
+    /**
+     * @param drivetrain A drivetrain created with simulated hardware (see Hardware.setSimulated())
+     * @param gyroDrift The standard deviation of the gyro drift in degrees after one second
+     * @param wheelSlip The standard deviation of each wheel's slip, as a fraction of its speed
+     */
+    public SwerveSimulator(Drivetrain drivetrain, long seed, double gyroDrift, double wheelSlip) {
+        if (!(drivetrain.getPigeon() instanceof SimulatedPigeon)) {
+            throw new IllegalArgumentException("The drivetrain was created with real hardware, call Hardware.setSimulated(true) first");
+        }
+
+        driveMotors = new SimulatedTalon[SwerveKinematics.MODULE_COUNT];
+        angleMotors = new SimulatedTalon[SwerveKinematics.MODULE_COUNT];
+        for (int i = 0; i < SwerveKinematics.MODULE_COUNT; i++) {
+            driveMotors[i] = (SimulatedTalon) drivetrain.getModule(i).getDriveMotor();
+            angleMotors[i] = (SimulatedTalon) drivetrain.getModule(i).getAngleMotor();
+        }
+        pigeon = (SimulatedPigeon) drivetrain.getPigeon();
+        this.gyroDrift = gyroDrift;
+        this.wheelSlip = wheelSlip;
+        random = new Random(seed);
+
+        clock = new VirtualClock();
+        drivetrain.setClock(clock);
+    }
+
+    /**
+     * Puts the robot back at the origin, stopped, with every module facing forward, and restarts the noise from a seed.
+     */
+    public void reset(long seed) {
+        for (int i = 0; i < SwerveKinematics.MODULE_COUNT; i++) {
+            driveMotors[i].reset();
+            angleMotors[i].reset();
+        }
+        pigeon.zero();
+        random.setSeed(seed);
+
+        time = 0;
+        x = 0;
+        y = 0;
+        heading = 0;
+    }
+
+    /**
+     * Advances the simulation in steps of the Talons' closed loop period.
+     *
+     * @param dt The time to simulate in seconds
+     */
+    public void step(double dt) {
+        int steps = (int) Math.round(dt / SimulatedTalon.LOOP_PERIOD);
+        for (int i = 0; i < steps; i++) {
+            stepOnce(SimulatedTalon.LOOP_PERIOD);
+        }
+    }
+
+    private void stepOnce(double dt) {
+        double vx = 0;
+        double vy = 0;
+        double angularMomentum = 0;
+        double inertia = 0;
+
+        for (int i = 0; i < SwerveKinematics.MODULE_COUNT; i++) {
+            driveMotors[i].step(dt);
+            angleMotors[i].step(dt);
+
+            double speed = getWheelSpeed(i) * (1 + wheelSlip * random.nextGaussian());
+            double angle = Math.toRadians(angleMotors[i].getPosition() * 360 / SwerveModule.ENCODER_TICKS);
+            double moduleVx = -Math.sin(angle) * speed;
+            double moduleVy = Math.cos(angle) * speed;
+
+            vx += moduleVx;
+            vy += moduleVy;
+            angularMomentum += MODULE_X[i] * moduleVy - MODULE_Y[i] * moduleVx;
+            inertia += MODULE_X[i] * MODULE_X[i] + MODULE_Y[i] * MODULE_Y[i];
+        }
+
+        vx /= SwerveKinematics.MODULE_COUNT;
+        vy /= SwerveKinematics.MODULE_COUNT;
+        double omega = angularMomentum / inertia;
+
+        //Rotate the robot relative velocity onto the field
+        double cos = Math.cos(heading);
+        double sin = Math.sin(heading);
+        x += (vx * cos - vy * sin) * dt;
+        y += (vx * sin + vy * cos) * dt;
+        heading += omega * dt;
+
+        pigeon.rotate(Math.toDegrees(omega * dt) + gyroDrift * Math.sqrt(dt) * random.nextGaussian());
+        time += dt;
+        clock.advance(dt);
+    }
+
+    /**
+     * Gets the speed of a module's wheel in meters per second
+     */
+    private double getWheelSpeed(int module) {
+        double wheelTicks = driveMotors[module].getVelocity() / Drivetrain.GEAR_RATIO;
+        return Conversions.convertSpeed(SpeedUnit.ENCODER_UNITS, wheelTicks, SpeedUnit.FEET_PER_SECOND) / METERS_TO_FEET;
+    }
+
+    /**
+     * Gets the simulated time since the last reset in seconds
+     */
+    public double getTime() {
+        return time;
+    }
+
+    /**
+     * Gets the clock the drivetrain uses, which keeps running across resets
+     */
+    public VirtualClock getClock() {
+        return clock;
+    }
+
+    /**
+     * Gets the robot's distance to the right of where it started, in meters
+     */
+    public double getX() {
+        return x;
+    }
+
+    /**
+     * Gets the robot's distance forward from where it started, in meters
+     */
+    public double getY() {
+        return y;
+    }
+
+    /**
+     * Gets the robot's actual heading in degrees, counterclockwise positive (the pigeon's reading includes drift)
+     */
+    public double getHeading() {
+        return Math.toDegrees(heading);
+    }
+
+    public SimulatedTalon getDriveMotor(int module) {
+        return driveMotors[module];
+    }
+
+    public SimulatedTalon getAngleMotor(int module) {
+        return angleMotors[module];
+    }
+}
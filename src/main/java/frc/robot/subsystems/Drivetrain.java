@@ -3,15 +3,25 @@ package frc.robot.subsystems;
 import edu.wpi.first.wpilibj.command.Subsystem;
 import frc.robot.RobotMap;
 import frc.robot.commands.SwerveManual;
+import frc.robot.util.Clock;
+import frc.robot.util.DrivetrainSnapshot;
+import frc.robot.util.LoopProfiler;
+import frc.robot.util.MonotonicClock;
+import frc.robot.util.StatusFrameScheduler;
+import frc.robot.util.SwerveKinematics;
 import frc.robot.util.SwerveModule;
-import frc.robot.util.Vector;
 import harkerrobolib.util.Conversions;
-import harkerrobolib.wrappers.HSPigeon;
-import harkerrobolib.wrappers.HSTalon;
-
+import frc.robot.util.hardware.CoalescingMotorController;
+import frc.robot.util.hardware.ConfigRegistry;
+import frc.robot.util.hardware.Gyro;
+import frc.robot.util.hardware.Hardware;
+import frc.robot.util.hardware.MotorController;
+import frc.robot.util.hardware.TalonConfig;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.function.Consumer;
 
-import com.ctre.phoenix.motorcontrol.StatusFrame;
 
 /**
  * Simulates the drivetrain subsystem on the robot. 
@@ -35,15 +45,32 @@ import com.ctre.phoenix.motorcontrol.StatusFrame;
  * @since 11/1/19
  */
 public class Drivetrain extends Subsystem {
-    public static Drivetrain instance;
+    private static volatile Drivetrain instance;
+
+    /**
+     * Module indices, shared by SwerveKinematics and everything else that stores per-module values in arrays
+     */
+    public static final int TOP_LEFT = 0;
+    public static final int TOP_RIGHT = 1;
+    public static final int BACK_LEFT = 2;
+    public static final int BACK_RIGHT = 3;
+
+    /**
+     * Module acronyms by module index, used in telemetry keys
+     */
+    public static final String[] MODULE_NAMES = {"TL", "TR", "BL", "BR"};
 
     private SwerveModule topLeft;
     private SwerveModule topRight;
     private SwerveModule backLeft;
     private SwerveModule backRight;
+    private SwerveModule[] modules;
     
-    private boolean isFieldSensitive;
-    private HSPigeon pigeon;
+    private volatile boolean isFieldSensitive;
+    private volatile double pigeonKP;
+    private Gyro pigeon;
+    private DrivetrainSnapshot snapshot;
+    private volatile Clock clock;
 
     private static final boolean TL_DRIVE_INVERTED = false;
     private static final boolean TL_ANGLE_INVERTED = false;
@@ -88,8 +115,6 @@ public class Drivetrain extends Subsystem {
     private static final double ANGLE_MOTION_PROF_kD = 0;
 
     public static final double MOTION_PROF_RAMP_RATE = 0.3;
-
-    private static final int MOTION_FRAME_PERIOD = 5;
   
     public static final double MAX_DRIVE_VELOCITY = 9;
     public static final double MAX_DRIVE_ACCELERATION = 4;
@@ -117,32 +142,69 @@ public class Drivetrain extends Subsystem {
 
     private static final double WHEEL_DIAMETER = 4;
 
+    private static final LoopProfiler.Section PERIODIC_PROFILE = LoopProfiler.getInstance().register("Drivetrain.periodic");
+
     private Drivetrain() {
         topLeft = new SwerveModule(RobotMap.TL_DRIVE_ID, TL_DRIVE_INVERTED, TL_DRIVE_SENSOR_PHASE, RobotMap.TL_ANGLE_ID, TL_ANGLE_INVERTED, TL_ANGLE_SENSOR_PHASE);
         topRight = new SwerveModule(RobotMap.TR_DRIVE_ID, TR_DRIVE_INVERTED, TR_DRIVE_SENSOR_PHASE, RobotMap.TR_ANGLE_ID, TR_ANGLE_INVERTED, TR_ANGLE_SENSOR_PHASE);
         backLeft = new SwerveModule(RobotMap.BL_DRIVE_ID, BL_DRIVE_INVERTED, BL_DRIVE_SENSOR_PHASE, RobotMap.BL_ANGLE_ID, BL_ANGLE_INVERTED, BL_ANGLE_SENSOR_PHASE);
         backRight = new SwerveModule(RobotMap.BR_DRIVE_ID, BR_DRIVE_INVERTED, BR_DRIVE_SENSOR_PHASE, RobotMap.BR_ANGLE_ID, BR_ANGLE_INVERTED, BR_ANGLE_SENSOR_PHASE);
+        modules = new SwerveModule[] {topLeft, topRight, backLeft, backRight};
+
+        //Every motor is reset to its factory defaults and configured at the same time, only writing what differs from the defaults
+        TalonConfig driveGains = createDriveGains();
+        TalonConfig angleGains = createAngleGains();
+        Map<MotorController, TalonConfig> configs = new LinkedHashMap<>();
+        for (SwerveModule module : modules) {
+            configs.put(module.getDriveMotor(), module.createDriveConfig().merge(driveGains));
+            configs.put(module.getAngleMotor(), module.createAngleConfig().merge(angleGains));
+        }
+        ConfigRegistry.getInstance().resetAll(configs);
+
+        applyToAllDrive((driveMotor) -> driveMotor.setSelectedSensorPosition(0));
 
-        int tlAngleOffset = (topLeft.getAngleMotor().getSensorCollection().getPulseWidthRiseToFallUs() - TL_OFFSET) / 4;
-        int trAngleOffset = (topRight.getAngleMotor().getSensorCollection().getPulseWidthRiseToFallUs() - TR_OFFSET) / 4;
-        int blAngleOffset = (backLeft.getAngleMotor().getSensorCollection().getPulseWidthRiseToFallUs() - BL_OFFSET) / 4;
-        int brAngleOffset = (backRight.getAngleMotor().getSensorCollection().getPulseWidthRiseToFallUs() - BR_OFFSET) / 4;
+        int tlAngleOffset = (topLeft.getAngleMotor().getPulseWidthRiseToFallUs() - TL_OFFSET) / 4;
+        int trAngleOffset = (topRight.getAngleMotor().getPulseWidthRiseToFallUs() - TR_OFFSET) / 4;
+        int blAngleOffset = (backLeft.getAngleMotor().getPulseWidthRiseToFallUs() - BL_OFFSET) / 4;
+        int brAngleOffset = (backRight.getAngleMotor().getPulseWidthRiseToFallUs() - BR_OFFSET) / 4;
 
         topLeft.getAngleMotor().setSelectedSensorPosition(tlAngleOffset);
         topRight.getAngleMotor().setSelectedSensorPosition(trAngleOffset);
         backLeft.getAngleMotor().setSelectedSensorPosition(blAngleOffset);
         backRight.getAngleMotor().setSelectedSensorPosition(brAngleOffset);
 
-        setupPositionPID();
-        setupVelocityPID();
-        setupMotionProfilePID();
-        
         isFieldSensitive = true;
-        pigeon = new HSPigeon(RobotMap.PIGEON_ID);
+        pigeonKP = PIGEON_kP;
+        pigeon = Hardware.createGyro(RobotMap.PIGEON_ID);
         pigeon.configFactoryDefault();
         pigeon.zero();
 
         Conversions.setWheelDiameter(WHEEL_DIAMETER);
+
+        clock = MonotonicClock.getInstance();
+        snapshot = new DrivetrainSnapshot();
+        snapshot.sample(modules, pigeon, clock.nanoTime());
+    }
+
+    /**
+     * Samples all sensors once at the start of every scheduler cycle, before any command runs,
+     * and configures any motor controller that reset again.
+     */
+    @Override
+    public void periodic() {
+        long start = PERIODIC_PROFILE.start();
+        snapshot.sample(modules, pigeon, clock.nanoTime());
+        for (SwerveModule module : modules) {
+            checkReset(module.getDriveMotor());
+            checkReset(module.getAngleMotor());
+        }
+        PERIODIC_PROFILE.stop(start);
+    }
+
+    private static void checkReset(MotorController motor) {
+        if (ConfigRegistry.getInstance().checkReset(motor)) {
+            StatusFrameScheduler.getInstance().resend(motor);
+        }
     }
 
     @Override
@@ -156,53 +218,68 @@ public class Drivetrain extends Subsystem {
     }
     
 
-    public void setupPositionPID() {
-        applyToAllAngle((angleMotor) -> angleMotor.config_kP(ANGLE_POSITION_SLOT, ANGLE_POSITION_KP));
-        applyToAllAngle((angleMotor) -> angleMotor.config_kI(ANGLE_POSITION_SLOT, ANGLE_POSITION_KI));
-        applyToAllAngle((angleMotor) -> angleMotor.config_kD(ANGLE_POSITION_SLOT, ANGLE_POSITION_KD));
-        applyToAllAngle((angleMotor) -> angleMotor.configClosedloopRamp(ANGLE_RAMP_RATE));
+    /**
+     * Creates the gains of every drive motor slot: velocity for SwerveManual and motion profile for autonomous
+     */
+    private static TalonConfig createDriveGains() {
+        return new TalonConfig()
+            .config_kF(DRIVE_VELOCITY_SLOT, DRIVE_VELOCITY_KF)
+            .config_kP(DRIVE_VELOCITY_SLOT, DRIVE_VELOCITY_KP)
+            .config_kI(DRIVE_VELOCITY_SLOT, DRIVE_VELOCITY_KI)
+            .config_kD(DRIVE_VELOCITY_SLOT, DRIVE_VELOCITY_KD)
+            .configClosedloopRamp(DRIVE_RAMP_RATE)
+            .config_kF(DRIVE_MOTION_PROF_SLOT, DRIVE_MOTION_PROF_kF)
+            .config_kP(DRIVE_MOTION_PROF_SLOT, DRIVE_MOTION_PROF_kP)
+            .config_kI(DRIVE_MOTION_PROF_SLOT, DRIVE_MOTION_PROF_kI)
+            .config_kD(DRIVE_MOTION_PROF_SLOT, DRIVE_MOTION_PROF_kD);
     }
-    
-    public void setupVelocityPID() {
-        applyToAllDrive((driveMotor) -> driveMotor.config_kF(DRIVE_VELOCITY_SLOT, DRIVE_VELOCITY_KF));
-        applyToAllDrive((driveMotor) -> driveMotor.config_kP(DRIVE_VELOCITY_SLOT, DRIVE_VELOCITY_KP));
-        applyToAllDrive((driveMotor) -> driveMotor.config_kI(DRIVE_VELOCITY_SLOT, DRIVE_VELOCITY_KI));
-        applyToAllDrive((driveMotor) -> driveMotor.config_kD(DRIVE_VELOCITY_SLOT, DRIVE_VELOCITY_KD));
-        applyToAllDrive((driveMotor) -> driveMotor.configClosedloopRamp(DRIVE_RAMP_RATE));
+
+    /**
+     * Creates the gains of every angle motor slot: position for SwerveManual and motion profile for autonomous
+     */
+    private static TalonConfig createAngleGains() {
+        return new TalonConfig()
+            .config_kP(ANGLE_POSITION_SLOT, ANGLE_POSITION_KP)
+            .config_kI(ANGLE_POSITION_SLOT, ANGLE_POSITION_KI)
+            .config_kD(ANGLE_POSITION_SLOT, ANGLE_POSITION_KD)
+            .configClosedloopRamp(ANGLE_RAMP_RATE)
+            .config_kF(ANGLE_MOTION_PROF_SLOT, ANGLE_MOTION_PROF_kF)
+            .config_kP(ANGLE_MOTION_PROF_SLOT, ANGLE_MOTION_PROF_kP)
+            .config_kI(ANGLE_MOTION_PROF_SLOT, ANGLE_MOTION_PROF_kI)
+            .config_kD(ANGLE_MOTION_PROF_SLOT, ANGLE_MOTION_PROF_kD);
     }
-    
-    private void setupMotionProfilePID() {
-        applyToAllDrive((driveMotor) -> driveMotor.config_kF(DRIVE_MOTION_PROF_SLOT, DRIVE_MOTION_PROF_kF));
-        applyToAllDrive((driveMotor) -> driveMotor.config_kP(DRIVE_MOTION_PROF_SLOT, DRIVE_MOTION_PROF_kP));
-        applyToAllDrive((driveMotor) -> driveMotor.config_kI(DRIVE_MOTION_PROF_SLOT, DRIVE_MOTION_PROF_kI));
-        applyToAllDrive((driveMotor) -> driveMotor.config_kD(DRIVE_MOTION_PROF_SLOT, DRIVE_MOTION_PROF_kD));
-
-        applyToAllAngle((angleMotor) -> angleMotor.config_kF(ANGLE_MOTION_PROF_SLOT, ANGLE_MOTION_PROF_kF));
-        applyToAllAngle((angleMotor) -> angleMotor.config_kP(ANGLE_MOTION_PROF_SLOT, ANGLE_MOTION_PROF_kP));
-        applyToAllAngle((angleMotor) -> angleMotor.config_kI(ANGLE_MOTION_PROF_SLOT, ANGLE_MOTION_PROF_kI));
-        applyToAllAngle((angleMotor) -> angleMotor.config_kD(ANGLE_MOTION_PROF_SLOT, ANGLE_MOTION_PROF_kD));
-        
-        applyToAllDrive((talon) -> talon.setStatusFramePeriod(StatusFrame.Status_9_MotProfBuffer, MOTION_FRAME_PERIOD));
-        applyToAllAngle((talon) -> talon.setStatusFramePeriod(StatusFrame.Status_9_MotProfBuffer, MOTION_FRAME_PERIOD));
+
+    /**
+     * Sets the output of the drivetrain based on the module outputs from the last kinematics calculation
+     */
+    public void setDrivetrain(SwerveKinematics kinematics, boolean isPercentOutput) {
+        setDrivetrain(kinematics, isPercentOutput, snapshot);
     }
 
     /**
-     * Sets the output of the drivetrain based on desired output vectors for each swerve module
+     * Sets the output of the drivetrain from the last kinematics calculation, using the module angles of another snapshot.
+     * Used by DriveControlLoop, which samples the sensors into its own snapshot.
      */
-    public void setDrivetrain(Vector tl, Vector tr, Vector bl, Vector br, boolean isPercentOutput) {
-        double tlOutput = isPercentOutput ? tl.getMagnitude() : tl.getMagnitude() * MAX_DRIVE_VELOCITY;
-        double trOutput = isPercentOutput ? tr.getMagnitude() : tr.getMagnitude() * MAX_DRIVE_VELOCITY;
-        double blOutput = isPercentOutput ? bl.getMagnitude() : bl.getMagnitude() * MAX_DRIVE_VELOCITY;
-        double brOutput = isPercentOutput ? br.getMagnitude() : br.getMagnitude() * MAX_DRIVE_VELOCITY;
-        
-        setSwerveModule(topLeft, tlOutput, convertAngle(topLeft, tl.getAngle()), isPercentOutput);
-		setSwerveModule(topRight, trOutput, convertAngle(topRight, tr.getAngle()), isPercentOutput);
-		setSwerveModule(backLeft, blOutput, convertAngle(backLeft, bl.getAngle()), isPercentOutput);
-        setSwerveModule(backRight, brOutput, convertAngle(backRight, br.getAngle()), isPercentOutput);
+    public void setDrivetrain(SwerveKinematics kinematics, boolean isPercentOutput, DrivetrainSnapshot angles) {
+        for (int i = 0; i < modules.length; i++) {
+            double output = isPercentOutput ? kinematics.getMagnitude(i) : kinematics.getMagnitude(i) * MAX_DRIVE_VELOCITY;
+            double currentAngle = angles.getAngleDegrees(i);
+            modules[i].setAngleAndDrive(convertAngle(currentAngle, kinematics.getAngle(i)), currentAngle, output, isPercentOutput);
+        }
+    }
+
+    /**
+     * Samples all sensors into a snapshot other than the drivetrain's, for loops that run outside the scheduler.
+     */
+    public void sample(DrivetrainSnapshot target) {
+        target.sample(modules, pigeon, clock.nanoTime());
     }
 
-    public void setSwerveModule(SwerveModule module, double output, double angle, boolean isPercentOutput) {
-        module.setAngleAndDrive(angle, output, isPercentOutput);
+    /**
+     * Sets the output and angle of the module at an index, using the module's angle from the snapshot.
+     */
+    public void setSwerveModule(int index, double output, double angle, boolean isPercentOutput) {
+        modules[index].setAngleAndDrive(angle, snapshot.getAngleDegrees(index), output, isPercentOutput);
     }
 
     /** 
@@ -215,14 +292,13 @@ public class Drivetrain extends Subsystem {
      *    while 0 degrees on the robot points forward (positive y axis). The subtraction deals with this offset.
      * 2. Increase/Decrease the targetAngle by 360 degrees until it is within +- 180 degrees of the current angle
      * 
+     * @param currDegrees The current angle of the module in degrees
      * @return The desired angle after all modifications
      */
-    public static double convertAngle(SwerveModule module, double targetAngle) {
+    public static double convertAngle(double currDegrees, double targetAngle) {
         //Step 1
         targetAngle -= 90; 
 
-        double currDegrees = module.getAngleDegrees();
-
         //Step 2
         while (currDegrees - targetAngle > 180) {
             targetAngle += 360;
@@ -238,10 +314,9 @@ public class Drivetrain extends Subsystem {
      * Stops all drive motors while holding the current angle
      */
     public void stopAllDrive() {
-        setSwerveModule(topLeft, 0, topLeft.getAngleDegrees(), true);
-        setSwerveModule(topRight, 0, topRight.getAngleDegrees(), true);
-        setSwerveModule(backLeft, 0, backLeft.getAngleDegrees(), true);
-        setSwerveModule(backRight, 0, backRight.getAngleDegrees(), true);
+        for (int i = 0; i < modules.length; i++) {
+            setSwerveModule(i, 0, snapshot.getAngleDegrees(i), true);
+        }
     }
     
     /**
@@ -258,7 +333,7 @@ public class Drivetrain extends Subsystem {
     /**
      * Calls a method on the angle motor of each swerve module.
      */
-    public void applyToAllAngle(Consumer<HSTalon> consumer) {
+    public void applyToAllAngle(Consumer<MotorController> consumer) {
         consumer.accept(topLeft.getAngleMotor());
         consumer.accept(topRight.getAngleMotor());
         consumer.accept(backLeft.getAngleMotor());
@@ -268,13 +343,52 @@ public class Drivetrain extends Subsystem {
     /**
      * Calls a method on the drive motor of each swerve module.
      */
-    public void applyToAllDrive(Consumer<HSTalon> consumer) {
+    public void applyToAllDrive(Consumer<MotorController> consumer) {
         consumer.accept(topLeft.getDriveMotor());
         consumer.accept(topRight.getDriveMotor());
         consumer.accept(backLeft.getDriveMotor());
         consumer.accept(backRight.getDriveMotor());
     }
     
+    /**
+     * Gets the number of CAN frames the CoalescingMotorControllers dropped since the robot started.
+     * Always 0 when simulated, since simulated controllers are not wrapped.
+     */
+    public long getSuppressedFrames() {
+        long suppressed = 0;
+        for (SwerveModule module : modules) {
+            suppressed += getSuppressedFrames(module.getDriveMotor()) + getSuppressedFrames(module.getAngleMotor());
+        }
+        return suppressed;
+    }
+
+    /**
+     * Gets the number of set() calls the CoalescingMotorControllers dropped since the robot started.
+     * These do not reduce CAN traffic, since Phoenix sends control frames on its own period.
+     */
+    public long getSuppressedSetCalls() {
+        long suppressed = 0;
+        for (SwerveModule module : modules) {
+            suppressed += getSuppressedSetCalls(module.getDriveMotor()) + getSuppressedSetCalls(module.getAngleMotor());
+        }
+        return suppressed;
+    }
+
+    private static long getSuppressedFrames(MotorController motor) {
+        return motor instanceof CoalescingMotorController ? ((CoalescingMotorController) motor).getSuppressedFrames() : 0;
+    }
+
+    private static long getSuppressedSetCalls(MotorController motor) {
+        return motor instanceof CoalescingMotorController ? ((CoalescingMotorController) motor).getSuppressedSetCalls() : 0;
+    }
+
+    /**
+     * Gets a swerve module by its index (TOP_LEFT, TOP_RIGHT, BACK_LEFT or BACK_RIGHT)
+     */
+    public SwerveModule getModule(int index) {
+        return modules[index];
+    }
+
     public SwerveModule getTopLeft() {
         return topLeft;
     }
@@ -291,17 +405,67 @@ public class Drivetrain extends Subsystem {
         return backRight;
     }
     
-    public HSPigeon getPigeon() {
+    public Gyro getPigeon() {
         return pigeon;
     }
 
+    /**
+     * Gets the sensor readings sampled at the start of the current scheduler cycle.
+     */
+    public DrivetrainSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Gets the time source of the drivetrain and the commands that use it
+     */
+    public Clock getClock() {
+        return clock;
+    }
+
+    /**
+     * Replaces the time source, for example with a VirtualClock in simulation
+     */
+    public void setClock(Clock clock) {
+        this.clock = clock;
+    }
+
+    /**
+     * Gets the proportional gain SwerveManual uses to hold the robot's heading, PIGEON_kP unless changed
+     */
+    public double getPigeonKP() {
+        return pigeonKP;
+    }
+
+    /**
+     * Changes the heading hold gain, for tuning in simulation
+     */
+    public void setPigeonKP(double pigeonKP) {
+        this.pigeonKP = pigeonKP;
+    }
+
     public boolean isFieldSensitive() {
         return isFieldSensitive;
     }
 
+    public void setFieldSensitive(boolean isFieldSensitive) {
+        this.isFieldSensitive = isFieldSensitive;
+    }
+
+    /**
+     * Gets the drivetrain, creating it the first time. Safe to call from any thread, for example a Notifier.
+     */
     public static Drivetrain getInstance() {
-        if(instance == null) 
-            instance = new Drivetrain();
-        return instance;
+        Drivetrain result = instance;
+        if (result == null) {
+            synchronized (Drivetrain.class) {
+                result = instance;
+                if (result == null) {
+                    result = new Drivetrain();
+                    instance = result;
+                }
+            }
+        }
+        return result;
     }
 }
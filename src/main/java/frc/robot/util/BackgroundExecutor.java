@@ -0,0 +1,33 @@
+package frc.robot.util;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Shared thread pool for slow work that must stay off the main robot thread, like generating trajectories.
+ * 
+ * The threads are daemons with minimum priority, so they never keep the program alive
+ * and the main robot thread is always scheduled first.
+ * 
+ * @since 10/16/26
+ */
+public final class BackgroundExecutor {
+    private static ExecutorService instance;
+
+    private BackgroundExecutor() {
+    }
+
+    public static synchronized ExecutorService getInstance() {
+        if (instance == null) {
+            AtomicInteger threadCount = new AtomicInteger();
+            instance = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), (runnable) -> {
+                Thread thread = new Thread(runnable, "Background-" + threadCount.getAndIncrement());
+                thread.setDaemon(true);
+                thread.setPriority(Thread.MIN_PRIORITY);
+                return thread;
+            });
+        }
+        return instance;
+    }
+}
@@ -0,0 +1,15 @@
+package frc.robot.util;
+
+/**
+ * A source of time for control code.
+ * 
+ * The robot uses MonotonicClock. Simulations and replays use a VirtualClock, so time only passes when they say so.
+ * 
+ * @since 10/16/26
+ */
+public interface Clock {
+    /**
+     * Gets the current time in nanoseconds. Only differences between two readings are meaningful.
+     */
+    long nanoTime();
+}
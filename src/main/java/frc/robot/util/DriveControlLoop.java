@@ -0,0 +1,177 @@
+package frc.robot.util;
+
+import edu.wpi.first.wpilibj.Notifier;
+import edu.wpi.first.wpilibj.Threads;
+import frc.robot.commands.SwerveManual;
+import frc.robot.subsystems.Drivetrain;
+
+/**
+ * Runs the heading hold and swerve kinematics at RATE instead of once per scheduler cycle, so the modules react to the
+ * pigeon within a few milliseconds and the heading can be held with a higher gain.
+ *
+ * SwerveManual only posts the driver's intent with setIntent(). Every tick, the loop samples the sensors into its own
+ * DrivetrainSnapshot, computes the turn output with HeadingHold and sets the modules. The intent is published with a
+ * SeqLock, so posting it never waits for a tick.
+ *
+ * The loop's thread runs at real time priority, so a tick must never block on anything but the drivetrain's CAN calls.
+ * setIntent() and stopDriving() must be called from the main robot thread.
+ *
+ * @since 10/16/26
+ */
+public class DriveControlLoop {
+    private static DriveControlLoop instance;
+
+    /**
+     * Ticks per second
+     */
+    public static final double RATE = 200;
+
+    /**
+     * Priority of the loop's thread, above the main robot thread but below the HAL's threads
+     */
+    private static final int THREAD_PRIORITY = 15;
+
+    private final Drivetrain drivetrain;
+    private final DrivetrainSnapshot snapshot;
+    private final HeadingHold headingHold;
+    private final SwerveKinematics kinematics;
+    private Notifier notifier;
+    private volatile boolean enabled;
+    private boolean prioritySet;
+
+    //Driver intent, written by the main robot thread under intentLock
+    private final SeqLock intentLock;
+    private double intentX;
+    private double intentY;
+    private double intentTurn;
+    private boolean intentPercentOutput;
+    private boolean intentActive;
+
+    //Whether the last tick drove, so the heading hold restarts from the current heading when driving resumes
+    private boolean wasActive;
+    private volatile double headingError;
+
+    public DriveControlLoop(Drivetrain drivetrain, double outputMultiplier) {
+        this.drivetrain = drivetrain;
+        snapshot = new DrivetrainSnapshot();
+        headingHold = new HeadingHold();
+        kinematics = new SwerveKinematics(Drivetrain.DT_LENGTH, Drivetrain.DT_WIDTH, outputMultiplier);
+        intentLock = new SeqLock();
+    }
+
+    /**
+     * Enables the loop and starts ticking RATE times per second.
+     */
+    public synchronized void start() {
+        enabled = true;
+        if (notifier != null) {
+            return;
+        }
+        notifier = new Notifier(this::tick);
+        notifier.startPeriodic(1 / RATE);
+    }
+
+    public synchronized void stop() {
+        enabled = false;
+        if (notifier != null) {
+            notifier.stop();
+            notifier.close();
+            notifier = null;
+        }
+    }
+
+    /**
+     * Returns true if SwerveManual should post its intent here instead of setting the modules itself
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Enables or disables the loop without starting its thread, for simulations that call update() themselves.
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Posts the driver's deadbanded joystick input, to be driven from the next tick on.
+     */
+    public void setIntent(double translateX, double translateY, double turnMagnitude, boolean isPercentOutput) {
+        intentLock.beginWrite();
+        intentX = translateX;
+        intentY = translateY;
+        intentTurn = turnMagnitude;
+        intentPercentOutput = isPercentOutput;
+        intentActive = true;
+        intentLock.endWrite();
+    }
+
+    /**
+     * Stops driving from the intent, for example when SwerveManual ends. Waits for a tick in progress to finish,
+     * so the caller can set the modules afterwards without the loop overwriting them.
+     */
+    public void stopDriving() {
+        intentLock.beginWrite();
+        intentActive = false;
+        intentLock.endWrite();
+        synchronized (this) { //Wait for a tick that read the old intent
+        }
+    }
+
+    private void tick() {
+        if (!prioritySet) {
+            Threads.setCurrentThreadPriority(true, THREAD_PRIORITY);
+            prioritySet = true;
+        }
+        update();
+    }
+
+    /**
+     * Runs one tick: samples the sensors, holds the heading and sets the modules from the latest intent.
+     * Called by the loop's thread, or directly by a simulation.
+     */
+    public synchronized void update() {
+        double translateX, translateY, turnMagnitude;
+        boolean isPercentOutput, active;
+        long stamp;
+        do {
+            stamp = intentLock.beginRead();
+            translateX = intentX;
+            translateY = intentY;
+            turnMagnitude = intentTurn;
+            isPercentOutput = intentPercentOutput;
+            active = intentActive;
+        } while (!intentLock.validate(stamp));
+
+        if (!active || !enabled) {
+            wasActive = false;
+            return;
+        }
+
+        drivetrain.sample(snapshot);
+        double heading = snapshot.getPigeonHeading();
+        if (!wasActive) {
+            headingHold.reset(heading, snapshot.getTimestamp());
+            wasActive = true;
+        }
+
+        turnMagnitude = headingHold.calculate(turnMagnitude, heading, snapshot.getTimestamp(), drivetrain.getPigeonKP());
+        headingError = headingHold.getError();
+        kinematics.calculate(translateX, translateY, turnMagnitude, heading, drivetrain.isFieldSensitive());
+        drivetrain.setDrivetrain(kinematics, isPercentOutput, snapshot);
+    }
+
+    /**
+     * Gets the heading error in degrees from the last tick that held the heading
+     */
+    public double getHeadingError() {
+        return headingError;
+    }
+
+    public static synchronized DriveControlLoop getInstance() {
+        if(instance == null)
+            instance = new DriveControlLoop(Drivetrain.getInstance(), SwerveManual.OUTPUT_MULTIPLIER);
+        return instance;
+    }
+}
@@ -0,0 +1,25 @@
+package frc.robot.util;
+
+/**
+ * The driver's inputs to SwerveManual, as raw joystick values in [-1, 1] before the deadband is applied.
+ * 
+ * On the robot these come from the driver gamepad (see OI). Simulations and tests provide their own.
+ * 
+ * @since 10/16/26
+ */
+public interface DriveInput {
+    /**
+     * Gets the desired velocity along the x axis (to the right)
+     */
+    double getTranslateX();
+
+    /**
+     * Gets the desired velocity along the y axis (forward)
+     */
+    double getTranslateY();
+
+    /**
+     * Gets the desired angular velocity
+     */
+    double getTurn();
+}
@@ -0,0 +1,165 @@
+package frc.robot.util;
+
+import frc.robot.util.hardware.Gyro;
+
+/**
+ * The drivetrain's sensor readings, sampled once at the start of every scheduler cycle.
+ * 
+ * Everything that runs during the cycle reads from the snapshot instead of the motor controllers,
+ * so every command sees the same values and each sensor is only read over JNI once per cycle.
+ * Per-module values are indexed by the Drivetrain module indices.
+ * 
+ * The getters may only be called from the thread that calls sample(). Other threads keep their own
+ * DrivetrainSnapshot and refresh it with copyTo(), which copies a consistent sample without locking.
+ * 
+ * @since 10/16/26
+ */
+public class DrivetrainSnapshot {
+    private final double[] anglePosition;
+    private final double[] angleVelocity;
+    private final double[] angleError;
+    private final double[] drivePosition;
+    private final double[] driveVelocity;
+    private final double[] driveError;
+    private double pigeonHeading;
+    private long timestamp;
+
+    private final SeqLock lock;
+
+    //Readings of the sample in progress, published all at once
+    private final double[] nextAnglePosition;
+    private final double[] nextAngleVelocity;
+    private final double[] nextAngleError;
+    private final double[] nextDrivePosition;
+    private final double[] nextDriveVelocity;
+    private final double[] nextDriveError;
+
+    public DrivetrainSnapshot() {
+        anglePosition = new double[SwerveKinematics.MODULE_COUNT];
+        angleVelocity = new double[SwerveKinematics.MODULE_COUNT];
+        angleError = new double[SwerveKinematics.MODULE_COUNT];
+        drivePosition = new double[SwerveKinematics.MODULE_COUNT];
+        driveVelocity = new double[SwerveKinematics.MODULE_COUNT];
+        driveError = new double[SwerveKinematics.MODULE_COUNT];
+
+        lock = new SeqLock();
+        nextAnglePosition = new double[SwerveKinematics.MODULE_COUNT];
+        nextAngleVelocity = new double[SwerveKinematics.MODULE_COUNT];
+        nextAngleError = new double[SwerveKinematics.MODULE_COUNT];
+        nextDrivePosition = new double[SwerveKinematics.MODULE_COUNT];
+        nextDriveVelocity = new double[SwerveKinematics.MODULE_COUNT];
+        nextDriveError = new double[SwerveKinematics.MODULE_COUNT];
+    }
+
+    /**
+     * Reads every sensor of the drivetrain into this snapshot.
+     * 
+     * @param modules The swerve modules, indexed by the Drivetrain module indices
+     * @param timestamp The time of the sample in nanoseconds, from the drivetrain's Clock
+     */
+    public void sample(SwerveModule[] modules, Gyro pigeon, long timestamp) {
+        //Read every sensor first, so the write below is short and readers on other threads rarely retry
+        for (int i = 0; i < modules.length; i++) {
+            nextAnglePosition[i] = modules[i].getAngleMotor().getSelectedSensorPosition();
+            nextAngleVelocity[i] = modules[i].getAngleMotor().getSelectedSensorVelocity();
+            nextAngleError[i] = modules[i].getAngleMotor().getClosedLoopError();
+            nextDrivePosition[i] = modules[i].getDriveMotor().getSelectedSensorPosition();
+            nextDriveVelocity[i] = modules[i].getDriveMotor().getSelectedSensorVelocity();
+            nextDriveError[i] = modules[i].getDriveMotor().getClosedLoopError();
+        }
+        double nextPigeonHeading = pigeon.getFusedHeading();
+
+        lock.beginWrite();
+        copyArrays(nextAnglePosition, nextAngleVelocity, nextAngleError, nextDrivePosition, nextDriveVelocity, nextDriveError, this);
+        pigeonHeading = nextPigeonHeading;
+        this.timestamp = timestamp;
+        lock.endWrite();
+    }
+
+    /**
+     * Copies the latest complete sample into another snapshot. Can be called from any thread, never blocks the
+     * thread calling sample() and does not allocate; it retries if a sample was published while copying.
+     */
+    public void copyTo(DrivetrainSnapshot target) {
+        long stamp;
+        do {
+            stamp = lock.beginRead();
+            copyArrays(anglePosition, angleVelocity, angleError, drivePosition, driveVelocity, driveError, target);
+            target.pigeonHeading = pigeonHeading;
+            target.timestamp = timestamp;
+        } while (!lock.validate(stamp));
+    }
+
+    private static void copyArrays(double[] anglePosition, double[] angleVelocity, double[] angleError,
+            double[] drivePosition, double[] driveVelocity, double[] driveError, DrivetrainSnapshot target) {
+        System.arraycopy(anglePosition, 0, target.anglePosition, 0, SwerveKinematics.MODULE_COUNT);
+        System.arraycopy(angleVelocity, 0, target.angleVelocity, 0, SwerveKinematics.MODULE_COUNT);
+        System.arraycopy(angleError, 0, target.angleError, 0, SwerveKinematics.MODULE_COUNT);
+        System.arraycopy(drivePosition, 0, target.drivePosition, 0, SwerveKinematics.MODULE_COUNT);
+        System.arraycopy(driveVelocity, 0, target.driveVelocity, 0, SwerveKinematics.MODULE_COUNT);
+        System.arraycopy(driveError, 0, target.driveError, 0, SwerveKinematics.MODULE_COUNT);
+    }
+
+    /**
+     * Gets the time the snapshot was sampled in nanoseconds, from the drivetrain's Clock
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * Gets a module's angle in degrees
+     */
+    public double getAngleDegrees(int module) {
+        return anglePosition[module] * 360.0 / SwerveModule.ENCODER_TICKS; //Convert encoder ticks to degrees
+    }
+
+    /**
+     * Gets a module's angle encoder position in encoder ticks
+     */
+    public double getAnglePosition(int module) {
+        return anglePosition[module];
+    }
+
+    /**
+     * Gets a module's angle encoder velocity in encoder ticks per 100 ms
+     */
+    public double getAngleVelocity(int module) {
+        return angleVelocity[module];
+    }
+
+    /**
+     * Gets the closed loop error of a module's angle motor in encoder ticks
+     */
+    public double getAngleError(int module) {
+        return angleError[module];
+    }
+
+    /**
+     * Gets a module's drive encoder position in encoder ticks
+     */
+    public double getDrivePosition(int module) {
+        return drivePosition[module];
+    }
+
+    /**
+     * Gets a module's drive encoder velocity in encoder ticks per 100 ms
+     */
+    public double getDriveVelocity(int module) {
+        return driveVelocity[module];
+    }
+
+    /**
+     * Gets the closed loop error of a module's drive motor
+     */
+    public double getDriveError(int module) {
+        return driveError[module];
+    }
+
+    /**
+     * Gets the fused heading of the pigeon in degrees
+     */
+    public double getPigeonHeading() {
+        return pigeonHeading;
+    }
+}
@@ -0,0 +1,109 @@
+package frc.robot.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Reads a file written by FlightRecorder without copying it: the file is memory mapped and every value is read
+ * directly from the mapping, so even long recordings open instantly.
+ *
+ * Run main() on a development machine to convert a recording to CSV:
+ *      java -cp ... frc.robot.util.FlightLogReader flight-20261016-120000.bin > flight.csv
+ *
+ * @since 10/16/26
+ */
+public class FlightLogReader {
+    private final MappedByteBuffer buffer;
+    private final int recordCount;
+
+    /**
+     * Memory maps a recording. Only the records written before the file was copied can be read.
+     */
+    public FlightLogReader(File file) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r"); FileChannel channel = raf.getChannel()) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        int magic = buffer.getInt(0);
+        int version = buffer.getInt(4);
+        int fieldCount = buffer.getInt(8);
+        if (magic != FlightRecorder.MAGIC || version != FlightRecorder.VERSION || fieldCount != FlightRecorder.FIELD_COUNT) {
+            throw new IOException(file + " is not a supported flight recording: " + Integer.toHexString(magic) + " v" + version + ", " + fieldCount + " fields");
+        }
+
+        long available = (buffer.capacity() - FlightRecorder.HEADER_SIZE) / FlightRecorder.RECORD_SIZE;
+        recordCount = (int) Math.min(buffer.getLong(FlightRecorder.RECORD_COUNT_OFFSET), available);
+    }
+
+    public int getRecordCount() {
+        return recordCount;
+    }
+
+    /**
+     * Gets a record's timestamp in nanoseconds
+     */
+    public long getTimestamp(int record) {
+        return buffer.getLong(getOffset(record, FlightRecorder.TIMESTAMP));
+    }
+
+    /**
+     * Gets a field of a record, for example get(i, FlightRecorder.PIGEON_HEADING).
+     * The timestamp should be read with getTimestamp(), since it is not stored as a double.
+     */
+    public double get(int record, int field) {
+        return buffer.getDouble(getOffset(record, field));
+    }
+
+    /**
+     * Gets a module's field of a record, for example get(i, Drivetrain.TOP_LEFT, FlightRecorder.DRIVE_ERROR)
+     */
+    public double get(int record, int module, int field) {
+        return get(record, FlightRecorder.getModuleField(module, field));
+    }
+
+    private int getOffset(int record, int field) {
+        if (record < 0 || record >= recordCount) {
+            throw new IndexOutOfBoundsException("Record " + record + " of " + recordCount);
+        }
+        return FlightRecorder.HEADER_SIZE + record * FlightRecorder.RECORD_SIZE + field * Double.BYTES;
+    }
+
+    /**
+     * Writes every record as a line of CSV, with the timestamp in seconds since the first record.
+     */
+    public void writeCsv(PrintStream out) {
+        StringBuilder line = new StringBuilder();
+        for (int field = 0; field < FlightRecorder.FIELD_COUNT; field++) {
+            if (field > 0) {
+                line.append(',');
+            }
+            line.append(FlightRecorder.getFieldName(field));
+        }
+        out.println(line);
+
+        long start = recordCount > 0 ? getTimestamp(0) : 0;
+        for (int record = 0; record < recordCount; record++) {
+            line.setLength(0);
+            line.append((getTimestamp(record) - start) / 1e9);
+            for (int field = 1; field < FlightRecorder.FIELD_COUNT; field++) {
+                line.append(',').append(get(record, field));
+            }
+            out.println(line);
+        }
+    }
+
+    /**
+     * @param args The recording to convert to CSV on standard output
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("Usage: FlightLogReader FILE");
+            System.exit(1);
+        }
+        new FlightLogReader(new File(args[0])).writeCsv(System.out);
+    }
+}
@@ -0,0 +1,311 @@
+package frc.robot.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.text.SimpleDateFormat;
+import java.util.Arrays;
+import java.util.Date;
+
+import edu.wpi.first.wpilibj.DriverStation;
+import frc.robot.subsystems.Drivetrain;
+
+/**
+ * Records the drivetrain's state every loop into a binary file, for analysis after a match with FlightLogReader.
+ *
+ * The file is created with room for a fixed number of records and memory mapped when recording starts,
+ * so recording a loop is a few dozen absolute puts into the mapping. Nothing waits for the disk:
+ * the kernel writes the dirty pages in the background, and flush() forces them out from a background thread.
+ * When the file is full, recording stops. Robot only records while enabled, so the file covers the matches
+ * the robot drove rather than the time it sat disabled. Each boot starts a new file in the background
+ * and deletes the oldest ones, keeping at most MAX_RECORDINGS.
+ *
+ * Format (big endian):
+ *      int     MAGIC
+ *      int     VERSION
+ *      int     FIELD_COUNT
+ *      int     capacity in records
+ *      long    number of records written, updated after every record
+ *      HEADER_SIZE - 24 bytes of padding
+ *      for each record, FIELD_COUNT 8 byte fields:
+ *          long    timestamp (nanoseconds from the drivetrain's Clock)
+ *          double  joystick translate x, translate y and turn
+ *          double  pigeon heading
+ *          double  robot mode, one of the MODE constants
+ *          double  1 if the drive was field sensitive, otherwise 0
+ *          for each module, MODULE_FIELD_COUNT doubles:
+ *              angle position, angle velocity, angle error,
+ *              drive position, drive velocity, drive error (Talon units),
+ *              angle setpoint (encoder units), drive setpoint (percent output or feet per second),
+ *              drive motion profile bottom buffer count
+ *
+ * Values are sampled from the DrivetrainSnapshot and the setpoints last sent by SwerveModule.setAngleAndDrive().
+ * record() must be called from the main robot thread. Records before the background start() finishes are dropped.
+ *
+ * @since 10/16/26
+ */
+public class FlightRecorder {
+    private static FlightRecorder instance;
+
+    public static final int MAGIC = 0x53574652; // "SWFR"
+    public static final int VERSION = 2;
+
+    public static final File DEFAULT_DIRECTORY = new File("/home/lvuser");
+
+    /**
+     * Number of records the file has room for, 15 minutes at 50 Hz
+     */
+    public static final int DEFAULT_CAPACITY = 15 * 60 * 50;
+
+    /**
+     * Number of recordings kept in DEFAULT_DIRECTORY, including the new one. Each one is about 15 MB
+     */
+    public static final int MAX_RECORDINGS = 5;
+
+    private static final String FILE_PREFIX = "flight-";
+    private static final String FILE_SUFFIX = ".bin";
+
+    public static final int HEADER_SIZE = 64;
+    static final int RECORD_COUNT_OFFSET = 16;
+
+    /*
+     * Field indices within a record
+     */
+    public static final int TIMESTAMP = 0;
+    public static final int INPUT_X = 1;
+    public static final int INPUT_Y = 2;
+    public static final int INPUT_TURN = 3;
+    public static final int PIGEON_HEADING = 4;
+    public static final int MODE = 5;
+    public static final int FIELD_SENSITIVE = 6;
+    private static final int FIRST_MODULE_FIELD = 7;
+
+    /*
+     * Values of the MODE field
+     */
+    public static final int MODE_DISABLED = 0;
+    public static final int MODE_TELEOP = 1;
+    public static final int MODE_AUTONOMOUS = 2;
+    public static final int MODE_TEST = 3;
+
+    /*
+     * Field indices within a module, see getModuleField()
+     */
+    public static final int ANGLE_POSITION = 0;
+    public static final int ANGLE_VELOCITY = 1;
+    public static final int ANGLE_ERROR = 2;
+    public static final int DRIVE_POSITION = 3;
+    public static final int DRIVE_VELOCITY = 4;
+    public static final int DRIVE_ERROR = 5;
+    public static final int ANGLE_SETPOINT = 6;
+    public static final int DRIVE_SETPOINT = 7;
+    public static final int PROFILE_BUFFER = 8;
+    public static final int MODULE_FIELD_COUNT = 9;
+
+    public static final int FIELD_COUNT = FIRST_MODULE_FIELD + SwerveKinematics.MODULE_COUNT * MODULE_FIELD_COUNT;
+    public static final int RECORD_SIZE = FIELD_COUNT * Double.BYTES;
+
+    private static final String[] MODULE_FIELD_NAMES = {
+        "Angle Position", "Angle Velocity", "Angle Error",
+        "Drive Position", "Drive Velocity", "Drive Error",
+        "Angle Setpoint", "Drive Setpoint", "Profile Buffer"
+    };
+
+    //Set by start() on a background thread, so record() only sees it once the rest of the state is set
+    private volatile MappedByteBuffer buffer;
+    private File file;
+    private int capacity;
+    private int recordCount;
+    private final double[] profileBuffers;
+
+    private FlightRecorder() {
+        profileBuffers = new double[SwerveKinematics.MODULE_COUNT];
+    }
+
+    /**
+     * Starts recording to a new file in DEFAULT_DIRECTORY on a background thread, so creating the file does not delay boot.
+     * The oldest recordings are deleted first, so at most MAX_RECORDINGS stay on the disk.
+     */
+    public void start() {
+        String name = FILE_PREFIX + new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date()) + FILE_SUFFIX;
+        BackgroundExecutor.getInstance().execute(() -> {
+            deleteOldRecordings(DEFAULT_DIRECTORY, MAX_RECORDINGS - 1);
+            start(new File(DEFAULT_DIRECTORY, name), DEFAULT_CAPACITY);
+        });
+    }
+
+    /**
+     * Deletes the oldest recordings in a directory until at most keep are left.
+     * Recordings are named by their start time, so they sort from oldest to newest.
+     */
+    static void deleteOldRecordings(File directory, int keep) {
+        File[] recordings = directory.listFiles((dir, name) -> name.startsWith(FILE_PREFIX) && name.endsWith(FILE_SUFFIX));
+        if (recordings == null || recordings.length <= keep) {
+            return;
+        }
+        Arrays.sort(recordings);
+        for (int i = 0; i < recordings.length - keep; i++) {
+            if (!recordings[i].delete()) {
+                DriverStation.reportWarning("Could not delete old flight recording " + recordings[i], false);
+            }
+        }
+    }
+
+    /**
+     * Starts recording to a new file, replacing the file of an earlier recording.
+     * If the file cannot be created, a warning is reported and nothing is recorded.
+     *
+     * The whole file is written and loaded into memory here, so no record has to wait for a page to be allocated or read.
+     */
+    public synchronized void start(File file, int capacity) {
+        long size = HEADER_SIZE + (long) capacity * RECORD_SIZE;
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw"); FileChannel channel = raf.getChannel()) {
+            raf.setLength(0);
+            ByteBuffer zeros = ByteBuffer.allocate(64 * 1024);
+            for (long position = 0; position < size; position += zeros.capacity()) {
+                zeros.clear();
+                zeros.limit((int) Math.min(zeros.capacity(), size - position));
+                channel.write(zeros, position);
+            }
+
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            mapped.load();
+            mapped.putInt(0, MAGIC);
+            mapped.putInt(4, VERSION);
+            mapped.putInt(8, FIELD_COUNT);
+            mapped.putInt(12, capacity);
+            mapped.putLong(RECORD_COUNT_OFFSET, 0);
+
+            this.file = file;
+            this.capacity = capacity;
+            this.recordCount = 0;
+            this.buffer = mapped;
+        } catch (IOException e) {
+            DriverStation.reportWarning("Could not start flight recorder at " + file + ": " + e.getMessage(), false);
+            buffer = null;
+        }
+    }
+
+    /**
+     * Stores a module's motion profile bottom buffer count, to be written with the next record.
+     * The count is recorded as 0 in loops where it was not set.
+     */
+    public void setProfileBuffer(int module, int count) {
+        profileBuffers[module] = count;
+    }
+
+    /**
+     * Appends one record with the drivetrain's latest snapshot, setpoints and the driver's input.
+     * Does nothing if recording has not started or the file is full.
+     */
+    public void record(Drivetrain drivetrain, DriveInput input) {
+        MappedByteBuffer buffer = this.buffer;
+        if (buffer == null) {
+            return;
+        }
+        if (recordCount == capacity) {
+            DriverStation.reportWarning("Flight recorder file " + file + " is full, stopping", false);
+            this.buffer = null;
+            return;
+        }
+
+        DrivetrainSnapshot snapshot = drivetrain.getSnapshot();
+        int offset = HEADER_SIZE + recordCount * RECORD_SIZE;
+
+        buffer.putLong(offset + TIMESTAMP * Double.BYTES, snapshot.getTimestamp());
+        buffer.putDouble(offset + INPUT_X * Double.BYTES, input.getTranslateX());
+        buffer.putDouble(offset + INPUT_Y * Double.BYTES, input.getTranslateY());
+        buffer.putDouble(offset + INPUT_TURN * Double.BYTES, input.getTurn());
+        buffer.putDouble(offset + PIGEON_HEADING * Double.BYTES, snapshot.getPigeonHeading());
+        buffer.putDouble(offset + MODE * Double.BYTES, getMode(DriverStation.getInstance()));
+        buffer.putDouble(offset + FIELD_SENSITIVE * Double.BYTES, drivetrain.isFieldSensitive() ? 1 : 0);
+
+        for (int i = 0; i < SwerveKinematics.MODULE_COUNT; i++) {
+            SwerveModule module = drivetrain.getModule(i);
+            int moduleOffset = offset + getModuleField(i, 0) * Double.BYTES;
+
+            buffer.putDouble(moduleOffset + ANGLE_POSITION * Double.BYTES, snapshot.getAnglePosition(i));
+            buffer.putDouble(moduleOffset + ANGLE_VELOCITY * Double.BYTES, snapshot.getAngleVelocity(i));
+            buffer.putDouble(moduleOffset + ANGLE_ERROR * Double.BYTES, snapshot.getAngleError(i));
+            buffer.putDouble(moduleOffset + DRIVE_POSITION * Double.BYTES, snapshot.getDrivePosition(i));
+            buffer.putDouble(moduleOffset + DRIVE_VELOCITY * Double.BYTES, snapshot.getDriveVelocity(i));
+            buffer.putDouble(moduleOffset + DRIVE_ERROR * Double.BYTES, snapshot.getDriveError(i));
+            buffer.putDouble(moduleOffset + ANGLE_SETPOINT * Double.BYTES, module.getAngleSetpoint());
+            buffer.putDouble(moduleOffset + DRIVE_SETPOINT * Double.BYTES, module.getDriveSetpoint());
+            buffer.putDouble(moduleOffset + PROFILE_BUFFER * Double.BYTES, profileBuffers[i]);
+            profileBuffers[i] = 0;
+        }
+
+        recordCount++;
+        buffer.putLong(RECORD_COUNT_OFFSET, recordCount);
+    }
+
+    private static int getMode(DriverStation driverStation) {
+        if (!driverStation.isEnabled()) {
+            return MODE_DISABLED;
+        } else if (driverStation.isAutonomous()) {
+            return MODE_AUTONOMOUS;
+        } else if (driverStation.isTest()) {
+            return MODE_TEST;
+        }
+        return MODE_TELEOP;
+    }
+
+    /**
+     * Writes the recorded pages to the disk on a background thread, for example when the robot is disabled.
+     */
+    public void flush() {
+        MappedByteBuffer buffer = this.buffer;
+        if (buffer != null) {
+            BackgroundExecutor.getInstance().execute(buffer::force);
+        }
+    }
+
+    /**
+     * Gets the number of records written to the current file
+     */
+    public int getRecordCount() {
+        return recordCount;
+    }
+
+    /**
+     * Gets the index of a module's field within a record
+     */
+    public static int getModuleField(int module, int field) {
+        return FIRST_MODULE_FIELD + module * MODULE_FIELD_COUNT + field;
+    }
+
+    /**
+     * Gets the name of a field, for example "TL Drive Error"
+     */
+    public static String getFieldName(int field) {
+        switch (field) {
+            case TIMESTAMP:
+                return "Timestamp";
+            case INPUT_X:
+                return "Input X";
+            case INPUT_Y:
+                return "Input Y";
+            case INPUT_TURN:
+                return "Input Turn";
+            case PIGEON_HEADING:
+                return "Pigeon Heading";
+            case MODE:
+                return "Mode";
+            case FIELD_SENSITIVE:
+                return "Field Sensitive";
+            default:
+                int moduleField = field - FIRST_MODULE_FIELD;
+                return Drivetrain.MODULE_NAMES[moduleField / MODULE_FIELD_COUNT] + " " + MODULE_FIELD_NAMES[moduleField % MODULE_FIELD_COUNT];
+        }
+    }
+
+    public static FlightRecorder getInstance() {
+        if(instance == null)
+            instance = new FlightRecorder();
+        return instance;
+    }
+}
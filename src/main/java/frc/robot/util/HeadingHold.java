@@ -0,0 +1,71 @@
+package frc.robot.util;
+
+/**
+ * Keeps the robot's heading while the driver is not turning.
+ *
+ * When the driver lets go of the turn stick, the heading to hold is the current heading plus an estimate of how far
+ * the robot will keep turning from its momentum. While holding, the turn output is proportional to the heading error.
+ * Used by SwerveManual and DriveControlLoop, which call calculate() once per loop.
+ *
+ * @since 10/16/26
+ */
+public class HeadingHold {
+    /**
+     * Degrees of extra heading per degree per millisecond of turning speed when the driver stops turning
+     */
+    private static final double VELOCITY_HEADING_MULTIPLIER = 70;
+    private static final double NANOS_PER_MILLI = 1e6;
+
+    private boolean isTurning; //True if the driver's turn input was non-zero last loop
+    private double targetHeading;
+    private double prevHeading;
+    private long prevTime;
+    private double error;
+
+    /**
+     * Starts holding a heading, for example when the command starts.
+     *
+     * @param time The current time in nanoseconds, from the drivetrain's Clock
+     */
+    public void reset(double heading, long time) {
+        isTurning = false;
+        targetHeading = heading;
+        prevHeading = heading;
+        prevTime = time;
+        error = 0;
+    }
+
+    /**
+     * Returns the turn output: the driver's turn input while it is non-zero, otherwise the output that holds the heading.
+     *
+     * @param turnMagnitude The driver's turn input, in [-1, 1]
+     * @param heading The pigeon's current heading in degrees
+     * @param time The time the heading was read in nanoseconds, from the drivetrain's Clock
+     * @param kP The proportional gain on the heading error
+     */
+    public double calculate(double turnMagnitude, double heading, long time, double kP) {
+        if(isTurning && turnMagnitude == 0) { //If there was joystick input but now there is not
+            double deltaTime = (time - prevTime) / NANOS_PER_MILLI; //Milliseconds, with sub-millisecond precision
+            double turnVel = deltaTime > 0 ? (heading - prevHeading) / deltaTime : 0;
+            targetHeading = heading + (Math.abs(turnVel)) * Math.signum(turnVel) * VELOCITY_HEADING_MULTIPLIER; // account for momentum when turning
+        }
+
+        isTurning = Math.abs(turnMagnitude) > 0;
+
+        if(!isTurning) { //If there is no joystick input currently
+            error = targetHeading - heading;
+            turnMagnitude = -kP * error;
+        }
+
+        prevHeading = heading;
+        prevTime = time;
+        return turnMagnitude;
+    }
+
+    /**
+     * Gets the heading error in degrees from the last loop that held the heading
+     */
+    public double getError() {
+        return error;
+    }
+}
@@ -0,0 +1,110 @@
+package frc.robot.util;
+
+/**
+ * A fixed size histogram of non-negative long values (usually durations in nanoseconds) with a bounded relative error.
+ * 
+ * Values below 2^SUB_BUCKET_BITS get their own bucket. Above that, every power of two is split into
+ * 2^(SUB_BUCKET_BITS - 1) equal buckets, so a bucket is never wider than 1/16 of the values in it.
+ * Values above MAX_VALUE are counted in the last bucket, the exact maximum is still tracked.
+ * 
+ * Recording never allocates. The histogram is not thread safe: record and read it from one thread.
+ * 
+ * @since 10/16/26
+ */
+public class LogLinearHistogram {
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int HALF_SUB_BUCKET_COUNT = SUB_BUCKET_COUNT / 2;
+
+    /**
+     * The largest value that is counted in its own bucket, about 68 seconds in nanoseconds
+     */
+    public static final long MAX_VALUE = (1L << 36) - 1;
+
+    private static final int BUCKET_COUNT = getIndex(MAX_VALUE) + 1;
+
+    private final long[] counts;
+    private long count;
+    private long sum;
+    private long max;
+
+    public LogLinearHistogram() {
+        counts = new long[BUCKET_COUNT];
+    }
+
+    public void record(long value) {
+        if (value < 0) {
+            value = 0;
+        }
+        counts[getIndex(Math.min(value, MAX_VALUE))]++;
+        count++;
+        sum += value;
+        max = Math.max(max, value);
+    }
+
+    public void reset() {
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = 0;
+        }
+        count = 0;
+        sum = 0;
+        max = 0;
+    }
+
+    private static int getIndex(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        int shift = (63 - Long.numberOfLeadingZeros(value)) - (SUB_BUCKET_BITS - 1);
+        int subBucket = (int) (value >> shift); //In [HALF_SUB_BUCKET_COUNT, SUB_BUCKET_COUNT)
+        return SUB_BUCKET_COUNT + (shift - 1) * HALF_SUB_BUCKET_COUNT + (subBucket - HALF_SUB_BUCKET_COUNT);
+    }
+
+    /**
+     * Returns the largest value that falls in a bucket
+     */
+    private static long getUpperBound(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int shift = (index - SUB_BUCKET_COUNT) / HALF_SUB_BUCKET_COUNT + 1;
+        long subBucket = (index - SUB_BUCKET_COUNT) % HALF_SUB_BUCKET_COUNT + HALF_SUB_BUCKET_COUNT;
+        return ((subBucket + 1) << shift) - 1;
+    }
+
+    /**
+     * Gets the number of recorded values
+     */
+    public long getCount() {
+        return count;
+    }
+
+    public long getMax() {
+        return max;
+    }
+
+    public double getMean() {
+        return count == 0 ? 0 : (double) sum / count;
+    }
+
+    /**
+     * Gets a value that at least the given percentage of recorded values are less than or equal to.
+     * The result is the upper bound of a bucket, so it overestimates by at most 1/16, and never exceeds the maximum.
+     * 
+     * @param percentile The percentile, in [0, 100]
+     */
+    public long getPercentile(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        long target = Math.max(1, (long) Math.ceil(count * percentile / 100));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= target) {
+                return Math.min(getUpperBound(i), max);
+            }
+        }
+        return max;
+    }
+}
@@ -0,0 +1,160 @@
+package frc.robot.util;
+
+import java.util.Arrays;
+
+/**
+ * Measures how long each part of the robot loop takes, to find what makes the loop overrun its 20 ms period.
+ * 
+ * Every measured part is a Section with its own LogLinearHistogram. Robot.robotPeriodic() measures the loop,
+ * the scheduler and the telemetry, and commands measure their own execute(). Sections are registered once,
+ * so recording a time is two System.nanoTime() calls and a histogram update, with no allocation.
+ * 
+ * printSummary() prints p50, p99 and max of every section since the previous summary, and the number of overruns.
+ * Durations are real time (MonotonicClock), since they measure this computer and not the robot.
+ * All sections must be recorded from the main robot thread.
+ * 
+ * @since 10/16/26
+ */
+public class LoopProfiler {
+    private static LoopProfiler instance;
+
+    /**
+     * The period of TimedRobot in nanoseconds, a loop longer than this is an overrun
+     */
+    public static final long LOOP_PERIOD_NANOS = 20_000_000;
+
+    private static final double NANOS_PER_MILLI = 1e6;
+
+    private Section[] sections;
+    private int sectionCount;
+
+    private final Section period;
+    private final Section loop;
+    private final Section scheduler;
+    private final Section telemetry;
+
+    private long lastLoopStart;
+    private long overruns;
+    private long totalOverruns;
+
+    private LoopProfiler() {
+        sections = new Section[8];
+        period = register("Loop period");
+        loop = register("Robot periodic");
+        scheduler = register("Scheduler");
+        telemetry = register("Telemetry");
+    }
+
+    /**
+     * Creates a new section. Call this once (for example in a constructor or static field) and keep the Section.
+     */
+    public synchronized Section register(String name) {
+        if (sectionCount == sections.length) {
+            sections = Arrays.copyOf(sections, sectionCount * 2);
+        }
+        Section section = new Section(name);
+        sections[sectionCount++] = section;
+        return section;
+    }
+
+    /**
+     * Marks the start of Robot.robotPeriodic() and records the time since the previous start.
+     * 
+     * @return The start time, to pass to loopFinished() and the sections measured during the loop
+     */
+    public long loopStarted() {
+        long start = System.nanoTime();
+        if (lastLoopStart != 0) {
+            period.record(start - lastLoopStart);
+        }
+        lastLoopStart = start;
+        return start;
+    }
+
+    /**
+     * Marks the end of Robot.robotPeriodic(), counting an overrun if it took longer than the loop period.
+     */
+    public void loopFinished(long startTime) {
+        long duration = System.nanoTime() - startTime;
+        loop.record(duration);
+        if (duration > LOOP_PERIOD_NANOS) {
+            overruns++;
+            totalOverruns++;
+        }
+    }
+
+    public Section getScheduler() {
+        return scheduler;
+    }
+
+    public Section getTelemetry() {
+        return telemetry;
+    }
+
+    /**
+     * Gets the number of loops that took longer than the loop period since the robot started
+     */
+    public long getTotalOverruns() {
+        return totalOverruns;
+    }
+
+    /**
+     * Prints the times of every section since the previous summary and starts a new interval.
+     */
+    public synchronized void printSummary() {
+        StringBuilder summary = new StringBuilder();
+        summary.append(String.format("Loop profile: %d overruns (%d total)%n", overruns, totalOverruns));
+        summary.append(String.format("%-32s %8s %8s %8s %8s%n", "Section", "Count", "p50 ms", "p99 ms", "Max ms"));
+
+        for (int i = 0; i < sectionCount; i++) {
+            LogLinearHistogram histogram = sections[i].histogram;
+            summary.append(String.format("%-32s %8d %8.3f %8.3f %8.3f%n", sections[i].name, histogram.getCount(),
+                histogram.getPercentile(50) / NANOS_PER_MILLI, histogram.getPercentile(99) / NANOS_PER_MILLI, histogram.getMax() / NANOS_PER_MILLI));
+            histogram.reset();
+        }
+        overruns = 0;
+
+        System.out.print(summary);
+    }
+
+    public static LoopProfiler getInstance() {
+        if(instance == null)
+            instance = new LoopProfiler();
+        return instance;
+    }
+
+    /**
+     * One measured part of the loop.
+     */
+    public static class Section {
+        private final String name;
+        private final LogLinearHistogram histogram;
+
+        private Section(String name) {
+            this.name = name;
+            histogram = new LogLinearHistogram();
+        }
+
+        /**
+         * Gets the start time to pass to stop()
+         */
+        public long start() {
+            return System.nanoTime();
+        }
+
+        /**
+         * Records the time since startTime.
+         * 
+         * @return The current time, so the next section can start from it
+         */
+        public long stop(long startTime) {
+            long now = System.nanoTime();
+            histogram.record(now - startTime);
+            return now;
+        }
+
+        private void record(long duration) {
+            histogram.record(duration);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package frc.robot.util;
+
+/**
+ * A Clock backed by System.nanoTime(), which never goes backwards and is not affected by changes to the system time.
+ * 
+ * @since 10/16/26
+ */
+public class MonotonicClock implements Clock {
+    private static MonotonicClock instance;
+
+    private MonotonicClock() {}
+
+    @Override
+    public long nanoTime() {
+        return System.nanoTime();
+    }
+
+    public static MonotonicClock getInstance() {
+        if(instance == null)
+            instance = new MonotonicClock();
+        return instance;
+    }
+}
@@ -0,0 +1,404 @@
+package frc.robot.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.ctre.phoenix.ErrorCode;
+import com.ctre.phoenix.motion.MotionProfileStatus;
+import com.ctre.phoenix.motion.SetValueMotionProfile;
+import com.ctre.phoenix.motion.TrajectoryPoint;
+import com.ctre.phoenix.motorcontrol.ControlMode;
+
+import edu.wpi.first.wpilibj.Notifier;
+import frc.robot.util.hardware.MotorController;
+
+/**
+ * Streams motion profiles to several controllers at once, creating each point only shortly before the controller needs it.
+ *
+ * Every update() moves the pushed points to the controllers and tops up each controller's top buffer to its window of
+ * points, so memory and the time to start a profile do not depend on its length.
+ *
+ * update() also tracks the health of every controller's buffer. Each window starts at WINDOW points. It doubles, up to
+ * MAX_WINDOW, for a controller that underran, or whose buffered points would run out within two of the longest gaps
+ * seen between updates. That means the updating thread is being delayed, so more points are kept ahead.
+ * The profiles are finished once every controller is running its last point.
+ *
+ * Starting is split in two. arm() clears the controllers and buffers the first points without changing what the
+ * controllers do, so it can run while disabled or while another command drives. fire() then only enables the profiles,
+ * one control frame per controller. If some controller has not buffered enough points yet, they are all enabled together
+ * by the first update() where every controller has. All Enable frames are sent back to back, so every controller starts
+ * on the same control period.
+ *
+ * To check that they did, update() records when each controller is first seen running its profile: when its status
+ * reports the profile enabled with a valid active point. Comparing the points it holds with the points pushed to it
+ * would not work, since the top buffer empties as soon as points are sent, long before the controller reports them
+ * in its bottom buffer. getStartSkewNanos() is the spread of those times between controllers. It is only as precise
+ * as the update period plus the period of the controllers' Status_9_MotProfBuffer frame.
+ *
+ * update() runs on a Notifier at half the point duration, or is called directly by a simulation so runs stay
+ * deterministic. Points are created on that thread, so sources must only read data that does not change while
+ * the profile runs.
+ *
+ * @since 10/16/26
+ */
+public class MotionProfileFeeder {
+    /**
+     * Creates the point at an index of a profile
+     */
+    @FunctionalInterface
+    public interface PointSource {
+        /**
+         * Sets every field of the point, including isLastPoint and zeroPos
+         */
+        void getPoint(int index, TrajectoryPoint point);
+    }
+
+    /**
+     * Number of points kept in each top buffer at first, on top of the points already in the controller
+     */
+    public static final int WINDOW = 32;
+
+    /**
+     * Largest number of points kept in a top buffer, well within the 2048 points it can hold
+     */
+    public static final int MAX_WINDOW = 512;
+
+    private final List<MotorController> motors;
+    private final List<PointSource> sources;
+    private final List<Integer> lengths;
+    private final int minBufferedPoints;
+    private final Clock clock;
+
+    //Index of the next point to push to each controller, and how many points to keep in its top buffer
+    private int[] nextPoints;
+    private int[] windows;
+    private boolean running;
+    private boolean fired;
+    private boolean outputEnabled;
+    private Notifier notifier;
+
+    //When the profiles were enabled and when each controller was first seen running, -1 until then
+    private long enableTime;
+    private long[] startTimes;
+
+    //Buffer health
+    private MotionProfileStatus[] statuses;
+    private boolean[] underruns;
+    private long periodNanos;
+    private long lastUpdateTime;
+    private long maxUpdateGap;
+    private int predictedUnderruns;
+
+    private final TrajectoryPoint point;
+
+    /**
+     * @param minBufferedPoints The number of points every controller must hold before the profiles start
+     * @param clock The clock used to time the start of the profiles
+     */
+    public MotionProfileFeeder(int minBufferedPoints, Clock clock) {
+        this.minBufferedPoints = minBufferedPoints;
+        this.clock = clock;
+        motors = new ArrayList<>();
+        sources = new ArrayList<>();
+        lengths = new ArrayList<>();
+        nextPoints = new int[0];
+        windows = new int[0];
+        startTimes = new long[0];
+        statuses = new MotionProfileStatus[0];
+        underruns = new boolean[0];
+        point = new TrajectoryPoint();
+    }
+
+    /**
+     * Adds a controller and the profile to stream to it. Must be called before arm().
+     *
+     * @param length The number of points in the profile
+     */
+    public synchronized void add(MotorController motor, int length, PointSource source) {
+        motors.add(motor);
+        lengths.add(length);
+        sources.add(source);
+    }
+
+    /**
+     * Clears every controller's trajectories and underrun flag, buffers the first points and keeps streaming the rest, without enabling the profiles.
+     * The controllers keep their control mode until fire().
+     *
+     * @param periodMs The duration of each point in milliseconds
+     * @param useThread False to leave calling update() to the caller, as simulations do
+     */
+    public void arm(int periodMs, boolean useThread) {
+        synchronized (this) {
+            for (MotorController motor : motors) {
+                motor.clearMotionProfileTrajectories();
+                motor.clearMotionProfileHasUnderrun();
+                motor.changeMotionControlFramePeriod(Math.max(1, periodMs / 2));
+            }
+            int count = motors.size();
+            nextPoints = new int[count];
+            windows = new int[count];
+            Arrays.fill(windows, WINDOW);
+            startTimes = new long[count];
+            Arrays.fill(startTimes, -1);
+            statuses = new MotionProfileStatus[count];
+            for (int i = 0; i < count; i++) {
+                statuses[i] = new MotionProfileStatus();
+            }
+            underruns = new boolean[count];
+            periodNanos = periodMs * 1_000_000L;
+            lastUpdateTime = -1;
+            maxUpdateGap = 0;
+            predictedUnderruns = 0;
+            enableTime = -1;
+            fired = false;
+            outputEnabled = false;
+            running = true;
+            update();
+        }
+
+        if (useThread) {
+            Notifier notifier = new Notifier(this::update);
+            notifier.startPeriodic(periodMs / 2000.0);
+            synchronized (this) {
+                this.notifier = notifier;
+            }
+        }
+    }
+
+    /**
+     * Enables the profiles of every controller, now if they have buffered enough points or else as soon as they have.
+     * Must be called after arm().
+     */
+    public synchronized void fire() {
+        fired = true;
+        enableIfBuffered();
+    }
+
+    /**
+     * Stops streaming, leaving the points already pushed to run. Clear the controllers' trajectories to stop them too.
+     */
+    public void stop() {
+        Notifier notifier;
+        synchronized (this) {
+            running = false;
+            notifier = this.notifier;
+            this.notifier = null;
+        }
+        //Closed outside the lock, since closing waits for an update() in progress
+        if (notifier != null) {
+            notifier.stop();
+            notifier.close();
+        }
+    }
+
+    /**
+     * Moves pushed points to the controllers, tops up their buffers and enables the profiles once enough points are buffered.
+     */
+    public synchronized void update() {
+        if (!running) {
+            return;
+        }
+        long now = clock.nanoTime();
+        if (lastUpdateTime >= 0) {
+            maxUpdateGap = Math.max(maxUpdateGap, now - lastUpdateTime);
+        }
+        lastUpdateTime = now;
+
+        for (int i = 0; i < motors.size(); i++) {
+            MotorController motor = motors.get(i);
+            PointSource source = sources.get(i);
+            MotionProfileStatus status = statuses[i];
+            int length = lengths.get(i);
+
+            motor.processMotionProfileBuffer();
+            motor.getMotionProfileStatus(status);
+            int buffered = status.topBufferCnt + status.btmBufferCnt;
+            if (outputEnabled) {
+                if (startTimes[i] < 0 && status.activePointValid && status.outputEnable == SetValueMotionProfile.Enable) {
+                    startTimes[i] = now;
+                }
+                checkHealth(i, buffered, nextPoints[i] < length);
+            }
+
+            for (int top = status.topBufferCnt; top < windows[i] && nextPoints[i] < length; top++) {
+                source.getPoint(nextPoints[i], point);
+                if (motor.pushMotionProfileTrajectory(point) != ErrorCode.OK) {
+                    break; //Try again on the next update
+                }
+                nextPoints[i]++;
+            }
+        }
+
+        enableIfBuffered();
+    }
+
+    /**
+     * Records an underrun of a controller, and grows its window if it underran or is about to.
+     *
+     * @param buffered The points the controller holds, including the top buffer
+     * @param morePoints Whether points remain to be pushed, otherwise running out is the end of the profile
+     */
+    private void checkHealth(int index, int buffered, boolean morePoints) {
+        boolean predicted = morePoints && buffered * periodNanos < 2 * maxUpdateGap;
+        if (predicted) {
+            predictedUnderruns++;
+        }
+        if (statuses[index].hasUnderrun && !underruns[index]) {
+            underruns[index] = true;
+        } else if (!predicted) {
+            return;
+        }
+        windows[index] = Math.min(MAX_WINDOW, windows[index] * 2);
+    }
+
+    private void enableIfBuffered() {
+        if (running && fired && !outputEnabled && isBuffered()) {
+            for (MotorController motor : motors) {
+                motor.set(ControlMode.MotionProfile, SetValueMotionProfile.Enable.value);
+            }
+            enableTime = clock.nanoTime();
+            outputEnabled = true;
+        }
+    }
+
+    /**
+     * Returns true if every controller holds enough points to start, or all of its profile if it is shorter
+     */
+    private boolean isBuffered() {
+        for (int i = 0; i < motors.size(); i++) {
+            motors.get(i).getMotionProfileStatus(statuses[i]);
+            if (statuses[i].btmBufferCnt < Math.min(minBufferedPoints, lengths.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns true from arm() until stop()
+     */
+    public synchronized boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Returns true once the profiles were enabled
+     */
+    public synchronized boolean isOutputEnabled() {
+        return outputEnabled;
+    }
+
+    /**
+     * Gets the time in nanoseconds between the first and the last controller starting its profile,
+     * or -1 until every controller was seen running
+     */
+    public synchronized long getStartSkewNanos() {
+        long first = Long.MAX_VALUE;
+        long last = Long.MIN_VALUE;
+        for (long startTime : startTimes) {
+            if (startTime < 0) {
+                return -1;
+            }
+            first = Math.min(first, startTime);
+            last = Math.max(last, startTime);
+        }
+        return startTimes.length == 0 ? -1 : last - first;
+    }
+
+    /**
+     * Gets the time in nanoseconds from enabling the profiles to the first controller seen running,
+     * or -1 until one was seen running. It is only as precise as the skew.
+     */
+    public synchronized long getStartLatencyNanos() {
+        long first = -1;
+        for (long startTime : startTimes) {
+            if (startTime >= 0 && (first < 0 || startTime < first)) {
+                first = startTime;
+            }
+        }
+        return first < 0 ? -1 : first - enableTime;
+    }
+
+    /**
+     * Returns true once every controller is running the last point of its profile, as of the last update()
+     */
+    public synchronized boolean isFinished() {
+        if (!outputEnabled) {
+            return false;
+        }
+        for (MotionProfileStatus status : statuses) {
+            if (!status.activePointValid || !status.isLast) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gets the points a controller holds, in the controller and in its top buffer, as of the last update()
+     *
+     * @param index The index of the controller in the order they were added
+     */
+    public synchronized int getBufferedPoints(int index) {
+        return statuses[index].topBufferCnt + statuses[index].btmBufferCnt;
+    }
+
+    /**
+     * Gets the points a controller holds in its own buffer, as of the last update()
+     *
+     * @param index The index of the controller in the order they were added
+     */
+    public synchronized int getBottomBufferedPoints(int index) {
+        return statuses[index].btmBufferCnt;
+    }
+
+    /**
+     * Returns true if a controller ran out of points before its last point since arm()
+     *
+     * @param index The index of the controller in the order they were added
+     */
+    public synchronized boolean hasUnderrun(int index) {
+        return underruns[index];
+    }
+
+    /**
+     * Gets the number of points a controller currently keeps in its top buffer
+     *
+     * @param index The index of the controller in the order they were added
+     */
+    public synchronized int getWindow(int index) {
+        return windows[index];
+    }
+
+    /**
+     * Gets the number of updates since arm() that found a controller about to run out of points, counted per controller
+     */
+    public synchronized int getPredictedUnderruns() {
+        return predictedUnderruns;
+    }
+
+    /**
+     * Gets the fraction of its profile the furthest behind controller has run, from 0 to 1
+     */
+    public synchronized double getProgress() {
+        double progress = motors.isEmpty() ? 0 : 1;
+        for (int i = 0; i < motors.size(); i++) {
+            int run = nextPoints[i] - getBufferedPoints(i);
+            progress = Math.min(progress, lengths.get(i) == 0 ? 1 : (double) run / lengths.get(i));
+        }
+        return progress;
+    }
+
+    /**
+     * Returns true once every point of every profile was pushed
+     */
+    public synchronized boolean isFed() {
+        for (int i = 0; i < motors.size(); i++) {
+            if (nextPoints[i] < lengths.get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,46 @@
+package frc.robot.util;
+
+/**
+ * A position and heading of the robot on the field.
+ *
+ * The field frame has x to the right and y forward from where odometry was last reset, in meters.
+ * Headings are in degrees, counterclockwise positive like the pigeon's fused heading.
+ * Poses are mutable so they can be reused every loop without allocating.
+ *
+ * @since 10/16/26
+ */
+public class Pose {
+    private double x;
+    private double y;
+    private double heading;
+
+    public Pose() {
+    }
+
+    public Pose(double x, double y, double heading) {
+        set(x, y, heading);
+    }
+
+    public void set(double x, double y, double heading) {
+        this.x = x;
+        this.y = y;
+        this.heading = heading;
+    }
+
+    public double getX() {
+        return x;
+    }
+
+    public double getY() {
+        return y;
+    }
+
+    public double getHeading() {
+        return heading;
+    }
+
+    @Override
+    public String toString() {
+        return "(" + x + ", " + y + ", " + heading + ")";
+    }
+}
@@ -0,0 +1,74 @@
+package frc.robot.util;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * A sequence lock, which lets one writer publish a group of primitive fields to any number of readers
+ * without locks, allocation or the writer ever waiting.
+ *
+ * The sequence is odd while a write is in progress. A reader remembers the sequence before reading
+ * and checks that it did not change afterwards; if it did, the values may be torn and the reader tries again:
+ *
+ *      long stamp;
+ *      do {
+ *          stamp = lock.beginRead();
+ *          ...copy the fields...
+ *      } while (!lock.validate(stamp));
+ *
+ * Readers must only copy values inside the loop and act on them after validate() returns true,
+ * since they can see a mix of old and new values before that. Only one thread may write at a time.
+ *
+ * @since 10/16/26
+ */
+public final class SeqLock {
+    private static final VarHandle SEQUENCE;
+
+    static {
+        try {
+            SEQUENCE = MethodHandles.lookup().findVarHandle(SeqLock.class, "sequence", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    @SuppressWarnings("unused") //Only accessed through SEQUENCE
+    private long sequence;
+
+    /**
+     * Marks the start of a write, call before changing any protected field.
+     */
+    public void beginWrite() {
+        long current = (long) SEQUENCE.getOpaque(this);
+        SEQUENCE.setOpaque(this, current + 1);
+        VarHandle.storeStoreFence(); //Readers see the odd sequence before any of the new values
+    }
+
+    /**
+     * Marks the end of a write, call after changing every protected field.
+     */
+    public void endWrite() {
+        long current = (long) SEQUENCE.getOpaque(this);
+        SEQUENCE.setRelease(this, current + 1); //Readers that see the even sequence also see all of the new values
+    }
+
+    /**
+     * Waits for any write in progress to finish and returns the stamp to pass to validate().
+     */
+    public long beginRead() {
+        long stamp;
+        while (((stamp = (long) SEQUENCE.getAcquire(this)) & 1) != 0) {
+            Thread.onSpinWait();
+        }
+        return stamp;
+    }
+
+    /**
+     * Returns true if nothing was written since beginRead() returned the stamp,
+     * meaning the values read in between are consistent.
+     */
+    public boolean validate(long stamp) {
+        VarHandle.loadLoadFence(); //Finish reading the values before reading the sequence again
+        return (long) SEQUENCE.getOpaque(this) == stamp;
+    }
+}
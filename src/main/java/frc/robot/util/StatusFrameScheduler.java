@@ -0,0 +1,200 @@
+package frc.robot.util;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+
+import com.ctre.phoenix.motorcontrol.StatusFrame;
+
+import edu.wpi.first.wpilibj.DriverStation;
+import frc.robot.subsystems.Drivetrain;
+import frc.robot.util.hardware.MotorController;
+
+/**
+ * Sets how often the drivetrain's Talons send each status frame, depending on what the robot is doing,
+ * so the CAN bus only carries the frames that are read.
+ *
+ * Robot sets a profile for every mode, and commands can replace it while they run (SwerveDriveWithMotionProfile uses
+ * MOTION_PROFILE). Other code can ask for a frame to be at least as fast as a period in every profile with
+ * setMinimumPeriod(), for example SwerveOdometry for the encoder readings. Only frames whose period changes are sent,
+ * and they are sent without waiting for the Talons to acknowledge, since profiles change on the main robot thread
+ * right before a path starts.
+ *
+ * Frames the drive code reads:
+ *      Status_1_General        output and faults
+ *      Status_2_Feedback0      sensor position and velocity, output current
+ *      Status_13_Base_PIDF0    closed loop error
+ *      Status_9_MotProfBuffer  motion profile buffer status
+ *      Status_10_Targets       active motion profile point
+ *
+ * @since 10/16/26
+ */
+public class StatusFrameScheduler {
+    private static StatusFrameScheduler instance;
+
+    /**
+     * The slowest period a Talon accepts in milliseconds
+     */
+    public static final int SLOWEST_PERIOD = 255;
+
+    /**
+     * Bit rate of the CAN bus
+     */
+    private static final double BUS_BITS_PER_SECOND = 1e6;
+
+    /**
+     * Bits on the bus per frame: an extended frame with 8 data bytes is 128 bits, plus bit stuffing and the space between frames
+     */
+    private static final double BITS_PER_FRAME = 150;
+
+    /**
+     * Frames per second every Talon sends or receives that are not managed here:
+     * the control frame every 10 ms and the other status frames at their default periods
+     */
+    private static final double UNMANAGED_FRAMES_PER_SECOND = 100 + 6 * 1000 / 160.0;
+
+    /**
+     * Estimated utilization above which applying a profile reports a warning. Above this, frames start to be delayed.
+     */
+    public static final double UTILIZATION_BUDGET = 0.7;
+
+    /**
+     * Timeout of each status frame period change, 0 to send it without waiting
+     */
+    private static final int TIMEOUT_MS = 0;
+
+    private static final StatusFrame[] FRAMES = {
+        StatusFrame.Status_1_General, StatusFrame.Status_2_Feedback0, StatusFrame.Status_13_Base_PIDF0,
+        StatusFrame.Status_9_MotProfBuffer, StatusFrame.Status_10_Targets
+    };
+
+    /**
+     * Status frame periods in milliseconds, in the order of FRAMES
+     */
+    public enum Profile {
+        //                  General Feedback0 PIDF0 MotProfBuffer Targets
+        DISABLED(           100,    100,      255,  255,          255),
+        TELEOP(             20,     10,       20,   255,          255),
+        MOTION_PROFILE(     20,     10,       20,   10,           50),
+        TEST(               20,     20,       20,   255,          255);
+
+        private final int[] periods;
+
+        private Profile(int... periods) {
+            this.periods = periods;
+        }
+    }
+
+    private final MotorController[] motors;
+    private final Map<StatusFrame, Integer> minimumPeriods;
+
+    private Profile modeProfile;
+    private Profile commandProfile;
+
+    //Periods last sent to each motor in the order of FRAMES, 0 if none was sent
+    private final int[][] sentPeriods;
+    private double utilization;
+
+    public StatusFrameScheduler(MotorController... motors) {
+        this.motors = motors;
+        minimumPeriods = new EnumMap<>(StatusFrame.class);
+        sentPeriods = new int[motors.length][FRAMES.length];
+        modeProfile = Profile.DISABLED;
+    }
+
+    /**
+     * Sets the profile of the robot's mode, used whenever no command replaced it.
+     */
+    public synchronized void setModeProfile(Profile profile) {
+        modeProfile = profile;
+        apply();
+    }
+
+    /**
+     * Replaces the mode's profile while a command runs. Call clearCommandProfile() when it ends.
+     */
+    public synchronized void setCommandProfile(Profile profile) {
+        commandProfile = profile;
+        apply();
+    }
+
+    public synchronized void clearCommandProfile() {
+        commandProfile = null;
+        apply();
+    }
+
+    /**
+     * Makes a frame at least as fast as a period in every profile, until setMinimumPeriod() is called again for the frame.
+     *
+     * @param periodMs The slowest acceptable period, or SLOWEST_PERIOD to remove the minimum
+     */
+    public synchronized void setMinimumPeriod(StatusFrame frame, int periodMs) {
+        minimumPeriods.put(frame, periodMs);
+        apply();
+    }
+
+    /**
+     * Sends every frame period to a controller again, after it reset and went back to its default periods.
+     */
+    public synchronized void resend(MotorController motor) {
+        for (int m = 0; m < motors.length; m++) {
+            if (motors[m] == motor) {
+                Arrays.fill(sentPeriods[m], 0);
+            }
+        }
+        apply();
+    }
+
+    /**
+     * Gets the profile in use
+     */
+    public synchronized Profile getProfile() {
+        return commandProfile != null ? commandProfile : modeProfile;
+    }
+
+    /**
+     * Gets the estimated fraction of the CAN bus used by the drivetrain's Talons with the profile in use
+     */
+    public synchronized double getUtilization() {
+        return utilization;
+    }
+
+    /**
+     * Sends the frame periods of the profile in use that differ from the ones last sent.
+     */
+    private void apply() {
+        Profile profile = getProfile();
+        double framesPerSecond = 0;
+
+        for (int f = 0; f < FRAMES.length; f++) {
+            int period = Math.min(profile.periods[f], minimumPeriods.getOrDefault(FRAMES[f], SLOWEST_PERIOD));
+            framesPerSecond += 1000.0 / period;
+
+            for (int m = 0; m < motors.length; m++) {
+                if (sentPeriods[m][f] != period) {
+                    motors[m].setStatusFramePeriod(FRAMES[f], period, TIMEOUT_MS);
+                    sentPeriods[m][f] = period;
+                }
+            }
+        }
+
+        framesPerSecond = motors.length * (framesPerSecond + UNMANAGED_FRAMES_PER_SECOND);
+        utilization = framesPerSecond * BITS_PER_FRAME / BUS_BITS_PER_SECOND;
+        if (utilization > UTILIZATION_BUDGET) {
+            DriverStation.reportWarning(String.format("Status frames of %s use an estimated %.0f%% of the CAN bus", profile, utilization * 100), false);
+        }
+    }
+
+    public static synchronized StatusFrameScheduler getInstance() {
+        if(instance == null) {
+            Drivetrain drivetrain = Drivetrain.getInstance();
+            MotorController[] motors = new MotorController[2 * SwerveKinematics.MODULE_COUNT];
+            for (int i = 0; i < SwerveKinematics.MODULE_COUNT; i++) {
+                motors[2 * i] = drivetrain.getModule(i).getDriveMotor();
+                motors[2 * i + 1] = drivetrain.getModule(i).getAngleMotor();
+            }
+            instance = new StatusFrameScheduler(motors);
+        }
+        return instance;
+    }
+}
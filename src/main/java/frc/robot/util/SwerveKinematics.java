@@ -0,0 +1,133 @@
+package frc.robot.util;
+
+/**
+ * Converts a desired translation and rotation of the chassis into the output of each swerve module.
+ *
+ * All module values are stored in preallocated arrays indexed by the Drivetrain module indices
+ * (TOP_LEFT, TOP_RIGHT, BACK_LEFT, BACK_RIGHT), so running the kinematics every loop does not allocate.
+ * The results of the last call to calculate() stay valid until the next call.
+ *
+ * Angles follow the joystick convention used by Vector: 0 degrees points to the right (positive x axis).
+ *
+ * @since 10/16/26
+ */
+public class SwerveKinematics {
+    public static final int MODULE_COUNT = 4;
+
+    private final double rotationMagnitude;
+    private final double outputMultiplier;
+
+    // Direction each module pushes when the chassis turns, before scaling
+    private final double[] rotationX;
+    private final double[] rotationY;
+
+    private final double[] outputX;
+    private final double[] outputY;
+    private final double[] outputMagnitude;
+    private final double[] outputAngle;
+
+    /**
+     * Creates the kinematics for a rectangular swerve drivetrain.
+     *
+     * @param length The distance between the wheels on the left or right
+     * @param width The distance between the wheels on the front or back
+     * @param outputMultiplier The value each module output is multiplied by before desaturating
+     */
+    public SwerveKinematics(double length, double width, double outputMultiplier) {
+        this.rotationMagnitude = Math.sqrt(Math.pow(length, 2) + Math.pow(width, 2));
+        this.outputMultiplier = outputMultiplier;
+
+        rotationX = new double[] {length, length, -length, -length};
+        rotationY = new double[] {width, -width, width, -width};
+
+        outputX = new double[MODULE_COUNT];
+        outputY = new double[MODULE_COUNT];
+        outputMagnitude = new double[MODULE_COUNT];
+        outputAngle = new double[MODULE_COUNT];
+    }
+
+    /**
+     * Calculates the output of every module, scaled down so that the largest magnitude is at most 1 (100% output).
+     *
+     * @param translateX The desired velocity along the x axis, in [-1, 1]
+     * @param translateY The desired velocity along the y axis, in [-1, 1]
+     * @param turnMagnitude The desired angular velocity, in [-1, 1]
+     * @param headingDegrees The current heading of the robot, only used if the drive is field sensitive
+     * @param isFieldSensitive true if the translation is relative to the field instead of the robot
+     */
+    public void calculate(double translateX, double translateY, double turnMagnitude, double headingDegrees, boolean isFieldSensitive) {
+        //Adjust for field sensitive drive using the heading (same math as Vector.rotate)
+        if (isFieldSensitive) {
+            double radians = -headingDegrees * Math.PI / 180;
+            double cos = Math.cos(radians);
+            double sin = Math.sin(radians);
+            double oldX = translateX;
+
+            translateX = oldX * cos - translateY * sin;
+            translateY = oldX * sin + translateY * cos;
+        }
+
+        //Scale by rotationMagnitude to make the magnitude of all rotation vectors 1
+        //and then by turnMagnitude to reflect the desired rotational speed
+        double rotationScale = turnMagnitude / rotationMagnitude;
+        double largestMag = 0;
+
+        for (int i = 0; i < MODULE_COUNT; i++) {
+            outputX[i] = (rotationX[i] * rotationScale + translateX) * outputMultiplier;
+            outputY[i] = (rotationY[i] * rotationScale + translateY) * outputMultiplier;
+            largestMag = Math.max(largestMag, magnitude(outputX[i], outputY[i]));
+        }
+
+        if (largestMag < 1)
+            largestMag = 1; //Set to 1 so none of the outputs are modified
+
+        double desaturateScale = 1 / largestMag;
+
+        for (int i = 0; i < MODULE_COUNT; i++) {
+            outputX[i] *= desaturateScale;
+            outputY[i] *= desaturateScale;
+            outputMagnitude[i] = magnitude(outputX[i], outputY[i]);
+            outputAngle[i] = angle(outputX[i], outputY[i]);
+        }
+    }
+
+    private static double magnitude(double x, double y) {
+        return Math.sqrt(x * x + y * y);
+    }
+
+    /**
+     * Returns the angle of <x,y> with respect to the positive x axis in degrees, within [0,360)
+     */
+    private static double angle(double x, double y) {
+        double angle = Math.atan2(y, x) * 180 / Math.PI; //Angle in degrees, range: (-180,180]
+        return (angle + 360) % 360; //Convert to desired range
+    }
+
+    /**
+     * Gets the x component of a module's output from the last calculation.
+     */
+    public double getX(int module) {
+        return outputX[module];
+    }
+
+    /**
+     * Gets the y component of a module's output from the last calculation.
+     */
+    public double getY(int module) {
+        return outputY[module];
+    }
+
+    /**
+     * Gets the magnitude of a module's output from the last calculation, in [0, 1].
+     */
+    public double getMagnitude(int module) {
+        return outputMagnitude[module];
+    }
+
+    /**
+     * Gets the angle of a module's output from the last calculation in degrees, within [0,360).
+     */
+    public double getAngle(int module) {
+        return outputAngle[module];
+    }
+}
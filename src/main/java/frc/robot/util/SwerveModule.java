@@ -7,7 +7,9 @@ import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
 import frc.robot.subsystems.Drivetrain;
 import harkerrobolib.util.Conversions;
 import harkerrobolib.util.Conversions.SpeedUnit;
-import harkerrobolib.wrappers.HSTalon;
+import frc.robot.util.hardware.Hardware;
+import frc.robot.util.hardware.MotorController;
+import frc.robot.util.hardware.TalonConfig;
 
 import com.ctre.phoenix.motorcontrol.ControlMode;
 
@@ -37,6 +39,10 @@ public class SwerveModule {
     private static final int ANGLE_CURRENT_PEAK = 15;
     private static final int CURRENT_PEAK_DUR = 50;
 
+    //Estimated encoder ticks per 100 ms at full output, only used when the motors are simulated
+    private static final double DRIVE_FREE_SPEED = 30000;
+    private static final double ANGLE_FREE_SPEED = 2000;
+
     // Motor inversions
     private final boolean DRIVE_INVERTED;
     private final boolean ANGLE_INVERTED;
@@ -47,14 +53,26 @@ public class SwerveModule {
     // Whether the drive motor should be inverted due to turning logic
     private boolean swerveDriveInverted; 
     private boolean invertFlag;
-    private HSTalon angleMotor;
-    private HSTalon driveMotor;
+    private MotorController angleMotor;
+    private MotorController driveMotor;
+
+    // Last setpoints sent by setAngleAndDrive(), after reversing. Volatile since DriveControlLoop may set them
+    private volatile double angleSetpoint;
+    private volatile double driveSetpoint;
 
     public SwerveModule(int driveId, boolean invertDriveTalon, boolean driveSensorPhase, int angleId, boolean invertAngleTalon, boolean angleSensorPhase) {
+        this(Hardware.createMotorController(driveId, DRIVE_FREE_SPEED), invertDriveTalon, driveSensorPhase,
+            Hardware.createMotorController(angleId, ANGLE_FREE_SPEED), invertAngleTalon, angleSensorPhase);
+    }
+
+    /**
+     * Creates a swerve module from motor controllers that have already been created, for example simulated ones.
+     */
+    public SwerveModule(MotorController driveMotor, boolean invertDriveTalon, boolean driveSensorPhase, MotorController angleMotor, boolean invertAngleTalon, boolean angleSensorPhase) {
         swerveDriveInverted = false;
         
-        driveMotor = new HSTalon(driveId);
-        angleMotor = new HSTalon(angleId);
+        this.driveMotor = driveMotor;
+        this.angleMotor = angleMotor;
 
         DRIVE_INVERTED = invertDriveTalon;
         ANGLE_INVERTED = invertAngleTalon;
@@ -62,59 +80,48 @@ public class SwerveModule {
         DRIVE_SENSOR_PHASE = driveSensorPhase;
         ANGLE_SENSOR_PHASE = angleSensorPhase;
 
-        driveTalonInit(driveMotor);
-        angleTalonInit(angleMotor);
-
         invertFlag = false;
 
     }
     
-    public void driveTalonInit(HSTalon talon) {
-        talon.configFactoryDefault();
-        
-        talon.configSelectedFeedbackSensor(FeedbackDevice.CTRE_MagEncoder_Relative);
-
-        talon.setNeutralMode(NeutralMode.Brake);
-
-        talon.setInverted(DRIVE_INVERTED);
-        talon.setSensorPhase(DRIVE_SENSOR_PHASE);
-        
-        talon.configForwardSoftLimitEnable(false);
-        talon.configReverseSoftLimitEnable(false);
-        talon.overrideLimitSwitchesEnable(false); 
-
-        talon.setSelectedSensorPosition(0);
-
-        talon.configContinuousCurrentLimit(DRIVE_CURRENT_CONTINUOUS);
-        talon.configPeakCurrentLimit(DRIVE_CURRENT_PEAK);
-        talon.configPeakCurrentDuration(CURRENT_PEAK_DUR);
-        talon.enableCurrentLimit(true);
-
-        talon.configVoltageCompSaturation(VOLTAGE_COMP);
-        talon.enableVoltageCompensation(true);
+    /**
+     * Creates the configuration of the drive motor, without gains. Applied by Drivetrain through the ConfigRegistry.
+     */
+    public TalonConfig createDriveConfig() {
+        return new TalonConfig()
+            .configSelectedFeedbackSensor(FeedbackDevice.CTRE_MagEncoder_Relative)
+            .setNeutralMode(NeutralMode.Brake)
+            .setInverted(DRIVE_INVERTED)
+            .setSensorPhase(DRIVE_SENSOR_PHASE)
+            .configForwardSoftLimitEnable(false)
+            .configReverseSoftLimitEnable(false)
+            .overrideLimitSwitchesEnable(false)
+            .configContinuousCurrentLimit(DRIVE_CURRENT_CONTINUOUS)
+            .configPeakCurrentLimit(DRIVE_CURRENT_PEAK)
+            .configPeakCurrentDuration(CURRENT_PEAK_DUR)
+            .enableCurrentLimit(true)
+            .configVoltageCompSaturation(VOLTAGE_COMP)
+            .enableVoltageCompensation(true);
     }
 
-    public void angleTalonInit(HSTalon talon) {
-        talon.configFactoryDefault();
-        
-        talon.configSelectedFeedbackSensor(FeedbackDevice.CTRE_MagEncoder_Absolute);
-
-        talon.setNeutralMode(NeutralMode.Brake);
-
-        talon.setInverted(ANGLE_INVERTED);
-        talon.setSensorPhase(ANGLE_SENSOR_PHASE);
-
-        talon.configForwardSoftLimitEnable(false);
-        talon.configReverseSoftLimitEnable(false);
-        talon.overrideLimitSwitchesEnable(false);
-
-        talon.configContinuousCurrentLimit(ANGLE_CURRENT_CONTINUOUS);
-        talon.configPeakCurrentLimit(ANGLE_CURRENT_PEAK);
-        talon.configPeakCurrentDuration(CURRENT_PEAK_DUR);
-        talon.enableCurrentLimit(true);
-
-        talon.configVoltageCompSaturation(VOLTAGE_COMP);
-        talon.enableVoltageCompensation(true);
+    /**
+     * Creates the configuration of the angle motor, without gains. Applied by Drivetrain through the ConfigRegistry.
+     */
+    public TalonConfig createAngleConfig() {
+        return new TalonConfig()
+            .configSelectedFeedbackSensor(FeedbackDevice.CTRE_MagEncoder_Absolute)
+            .setNeutralMode(NeutralMode.Brake)
+            .setInverted(ANGLE_INVERTED)
+            .setSensorPhase(ANGLE_SENSOR_PHASE)
+            .configForwardSoftLimitEnable(false)
+            .configReverseSoftLimitEnable(false)
+            .overrideLimitSwitchesEnable(false)
+            .configContinuousCurrentLimit(ANGLE_CURRENT_CONTINUOUS)
+            .configPeakCurrentLimit(ANGLE_CURRENT_PEAK)
+            .configPeakCurrentDuration(CURRENT_PEAK_DUR)
+            .enableCurrentLimit(true)
+            .configVoltageCompSaturation(VOLTAGE_COMP)
+            .enableVoltageCompensation(true);
     }
 
     public void invertOutput() {
@@ -136,37 +143,77 @@ public class SwerveModule {
     }
     
     public void setAngleAndDrive(double targetAngle, double output, boolean isPercentOutput) {
-        boolean shouldReverse = Math.abs(targetAngle - getAngleDegrees()) > 90;
-        
-        if (shouldReverse) {
-            setDriveOutput(-output, isPercentOutput);
-            if (targetAngle - getAngleDegrees() > 90) {
-                targetAngle -= 180;
-            }
-            else {
-                targetAngle += 180;
-            }
-        } else {
-            setDriveOutput(output, isPercentOutput);
+        setAngleAndDrive(targetAngle, getAngleDegrees(), output, isPercentOutput);
+    }
+
+    /**
+     * Sets the angle and drive output of the module, using an already known current angle
+     * (usually from the DrivetrainSnapshot) to decide whether the module should reverse.
+     * 
+     * @param currentAngle The current angle of the module in degrees
+     */
+    public void setAngleAndDrive(double targetAngle, double currentAngle, double output, boolean isPercentOutput) {
+        if (shouldReverse(targetAngle, currentAngle)) {
+            output = -output;
+            targetAngle = reverseAngle(targetAngle, currentAngle);
         }
+        setDriveOutput(output, isPercentOutput);
         
         int targetPos = (int)((targetAngle / 360) * 4096);
 
         angleMotor.set(ControlMode.Position, targetPos);
+
+        angleSetpoint = targetPos;
+        driveSetpoint = output;
+    }
+
+    /**
+     * Gets the angle position (in encoder units) last set by setAngleAndDrive()
+     */
+    public double getAngleSetpoint() {
+        return angleSetpoint;
+    }
+
+    /**
+     * Gets the drive output (percent output or feet per second) last set by setAngleAndDrive(), negated if the module reversed
+     */
+    public double getDriveSetpoint() {
+        return driveSetpoint;
+    }
+
+    /**
+     * Returns true if the module should turn to the opposite angle and reverse its drive output,
+     * which happens when the target is more than 90 degrees away from the current angle.
+     */
+    public static boolean shouldReverse(double targetAngle, double currentAngle) {
+        return Math.abs(targetAngle - currentAngle) > 90;
+    }
+
+    /**
+     * Returns the target angle flipped by 180 degrees towards the current angle.
+     */
+    public static double reverseAngle(double targetAngle, double currentAngle) {
+        if (targetAngle - currentAngle > 90) {
+            return targetAngle - 180;
+        }
+        else {
+            return targetAngle + 180;
+        }
     }
 
     /**
-     * Returns the current angle in degrees
+     * Returns the current angle in degrees, read directly from the encoder.
+     * Code that runs every cycle should use the DrivetrainSnapshot instead.
      */
     public double getAngleDegrees() {
         return angleMotor.getSelectedSensorPosition() * 360.0 / SwerveModule.ENCODER_TICKS; //Convert encoder ticks to degrees
     }
 
-    public HSTalon getAngleMotor() {
+    public MotorController getAngleMotor() {
         return angleMotor;    
     }            
         
-    public HSTalon getDriveMotor() {
+    public MotorController getDriveMotor() {
         return driveMotor;
     }
 }
\ No newline at end of file
@@ -0,0 +1,252 @@
+package frc.robot.util;
+
+import com.ctre.phoenix.motorcontrol.StatusFrame;
+
+import edu.wpi.first.wpilibj.Notifier;
+import frc.robot.subsystems.Drivetrain;
+import frc.robot.util.hardware.Gyro;
+import harkerrobolib.util.Conversions;
+import harkerrobolib.util.Conversions.PositionUnit;
+
+/**
+ * Estimates the robot's pose on the field from the swerve modules and the pigeon, on its own Notifier at UPDATE_RATE,
+ * independent of the 50 Hz scheduler.
+ *
+ * Every update, each module's drive encoder change is turned into a displacement along the module's current angle.
+ * The robot's displacement is the average of the four, rotated onto the field by the pigeon heading halfway between
+ * the previous and current update. The heading itself comes from the pigeon.
+ *
+ * Every pose is also kept in a ring buffer of the last HISTORY_SIZE updates, so a measurement taken some time ago
+ * (for example by a camera) can be matched with where the robot was at that time.
+ * Timestamps are nanoseconds from the drivetrain's Clock.
+ *
+ * update() is called from the Notifier thread (only one thread may call it), all other methods can be called from any thread.
+ * The pose and history are published with a SeqLock, so reading them never locks, allocates or delays an update.
+ * update() and reset() still synchronize with each other, since only one thread may write at a time.
+ *
+ * @since 10/16/26
+ */
+public class SwerveOdometry {
+    private static SwerveOdometry instance;
+
+    /**
+     * Updates per second
+     */
+    public static final double UPDATE_RATE = 200;
+
+    /**
+     * Number of poses kept for getPose(long, Pose), 1.28 seconds at UPDATE_RATE
+     */
+    public static final int HISTORY_SIZE = 256;
+
+    private static final double METERS_TO_FEET = 3.28;
+
+    private final Drivetrain drivetrain;
+    private final SwerveModule[] modules;
+    private final Gyro pigeon;
+    private Notifier notifier;
+
+    //Sensor readings of the current update, read before taking the lock
+    private final double[] drivePositions;
+    private final double[] angles;
+
+    private final double[] lastDrivePositions;
+    private double lastHeading;
+
+    private final SeqLock lock;
+
+    private double x;
+    private double y;
+    private double heading;
+
+    //Ring buffer, index (newest - i) % HISTORY_SIZE holds the pose i updates ago
+    private final long[] historyTimes;
+    private final double[] historyX;
+    private final double[] historyY;
+    private final double[] historyHeading;
+    private int newest;
+    private int historyCount;
+
+    public SwerveOdometry(Drivetrain drivetrain) {
+        this.drivetrain = drivetrain;
+        modules = new SwerveModule[SwerveKinematics.MODULE_COUNT];
+        for (int i = 0; i < SwerveKinematics.MODULE_COUNT; i++) {
+            modules[i] = drivetrain.getModule(i);
+        }
+        pigeon = drivetrain.getPigeon();
+
+        drivePositions = new double[SwerveKinematics.MODULE_COUNT];
+        angles = new double[SwerveKinematics.MODULE_COUNT];
+        lastDrivePositions = new double[SwerveKinematics.MODULE_COUNT];
+        historyTimes = new long[HISTORY_SIZE];
+        historyX = new double[HISTORY_SIZE];
+        historyY = new double[HISTORY_SIZE];
+        historyHeading = new double[HISTORY_SIZE];
+
+        lock = new SeqLock();
+        reset(0, 0);
+    }
+
+    /**
+     * Starts updating the pose UPDATE_RATE times per second, and makes the Talons send their encoder readings as often.
+     */
+    public synchronized void start() {
+        if (notifier != null) {
+            return;
+        }
+        StatusFrameScheduler.getInstance().setMinimumPeriod(StatusFrame.Status_2_Feedback0, (int) Math.round(1000 / UPDATE_RATE));
+
+        notifier = new Notifier(this::update);
+        notifier.startPeriodic(1 / UPDATE_RATE);
+    }
+
+    public synchronized void stop() {
+        if (notifier != null) {
+            notifier.stop();
+            notifier.close();
+            notifier = null;
+            StatusFrameScheduler.getInstance().setMinimumPeriod(StatusFrame.Status_2_Feedback0, StatusFrameScheduler.SLOWEST_PERIOD);
+        }
+    }
+
+    /**
+     * Moves the estimate to a position on the field, keeping the pigeon heading, and clears the history.
+     */
+    public synchronized void reset(double x, double y) {
+        double heading = pigeon.getFusedHeading();
+        for (int i = 0; i < SwerveKinematics.MODULE_COUNT; i++) {
+            lastDrivePositions[i] = modules[i].getDriveMotor().getSelectedSensorPosition();
+        }
+        lastHeading = heading;
+
+        lock.beginWrite();
+        this.x = x;
+        this.y = y;
+        this.heading = heading;
+        historyCount = 0;
+        lock.endWrite();
+    }
+
+    /**
+     * Reads the sensors and integrates the pose since the last update.
+     */
+    public void update() {
+        long timestamp = drivetrain.getClock().nanoTime();
+        double currentHeading = pigeon.getFusedHeading();
+        for (int i = 0; i < SwerveKinematics.MODULE_COUNT; i++) {
+            drivePositions[i] = modules[i].getDriveMotor().getSelectedSensorPosition();
+            angles[i] = Math.toRadians(modules[i].getAngleMotor().getSelectedSensorPosition() * 360.0 / SwerveModule.ENCODER_TICKS);
+        }
+
+        double dx = 0;
+        double dy = 0;
+        synchronized (this) {
+            for (int i = 0; i < SwerveKinematics.MODULE_COUNT; i++) {
+                double distance = toMeters(drivePositions[i] - lastDrivePositions[i]);
+                lastDrivePositions[i] = drivePositions[i];
+
+                //0 degrees points forward, robot relative x is to the right
+                dx -= Math.sin(angles[i]) * distance;
+                dy += Math.cos(angles[i]) * distance;
+            }
+            dx /= SwerveKinematics.MODULE_COUNT;
+            dy /= SwerveKinematics.MODULE_COUNT;
+
+            double midHeading = Math.toRadians((lastHeading + currentHeading) / 2);
+            double cos = Math.cos(midHeading);
+            double sin = Math.sin(midHeading);
+
+            lock.beginWrite();
+            x += dx * cos - dy * sin;
+            y += dx * sin + dy * cos;
+            heading = currentHeading;
+            lastHeading = currentHeading;
+
+            newest = (newest + 1) % HISTORY_SIZE;
+            historyTimes[newest] = timestamp;
+            historyX[newest] = x;
+            historyY[newest] = y;
+            historyHeading[newest] = heading;
+            historyCount = Math.min(historyCount + 1, HISTORY_SIZE);
+            lock.endWrite();
+        }
+    }
+
+    private static double toMeters(double driveTicks) {
+        return Conversions.convertPosition(PositionUnit.ENCODER_UNITS, driveTicks / Drivetrain.GEAR_RATIO, PositionUnit.FEET) / METERS_TO_FEET;
+    }
+
+    /**
+     * Copies the latest pose into result.
+     */
+    public void getPose(Pose result) {
+        double x;
+        double y;
+        double heading;
+        long stamp;
+        do {
+            stamp = lock.beginRead();
+            x = this.x;
+            y = this.y;
+            heading = this.heading;
+        } while (!lock.validate(stamp));
+        result.set(x, y, heading);
+    }
+
+    /**
+     * Copies the pose at a past time into result, interpolating between the two updates around it.
+     * Times before the oldest or after the newest update in the history get the oldest or newest pose.
+     *
+     * @param timestamp The time in nanoseconds, from the drivetrain's Clock
+     * @return false if there has been no update since the last reset, in which case result is the latest pose
+     */
+    public boolean getPose(long timestamp, Pose result) {
+        double x;
+        double y;
+        double heading;
+        boolean found;
+        long stamp;
+        do {
+            stamp = lock.beginRead();
+            int count = historyCount;
+            int newest = this.newest;
+            found = count > 0;
+
+            if (!found) {
+                x = this.x;
+                y = this.y;
+                heading = this.heading;
+                continue;
+            }
+
+            //Older than the whole history unless an earlier update is found below
+            int after = newest;
+            int before = newest;
+            double fraction = 0;
+            for (int i = 1; i < count; i++) {
+                int index = (newest - i + HISTORY_SIZE) % HISTORY_SIZE;
+                if (historyTimes[index] <= timestamp) {
+                    before = index;
+                    long span = historyTimes[after] - historyTimes[before];
+                    fraction = span <= 0 ? 1 : Math.min(1, (double) (timestamp - historyTimes[before]) / span);
+                    break;
+                }
+                after = index;
+                before = index;
+            }
+
+            x = historyX[before] + (historyX[after] - historyX[before]) * fraction;
+            y = historyY[before] + (historyY[after] - historyY[before]) * fraction;
+            heading = historyHeading[before] + (historyHeading[after] - historyHeading[before]) * fraction;
+        } while (!lock.validate(stamp));
+
+        result.set(x, y, heading);
+        return found;
+    }
+
+    public static synchronized SwerveOdometry getInstance() {
+        if(instance == null)
+            instance = new SwerveOdometry(Drivetrain.getInstance());
+        return instance;
+    }
+}
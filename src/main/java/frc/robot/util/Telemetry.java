@@ -0,0 +1,186 @@
+package frc.robot.util;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+import edu.wpi.first.networktables.NetworkTableEntry;
+import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
+
+/**
+ * Publishes values to the SmartDashboard from a background thread, so the control loop never waits on NetworkTables.
+ *
+ * Every value gets a Channel, registered once with its SmartDashboard key and how often it should be published.
+ * Setting a channel only stores the value's bits in an array, with no string hashing, boxing or locking.
+ * The publisher thread wakes up every PUBLISH_TICK_NANOS, and sends each channel whose period has passed
+ * if its value changed since it was last sent. Only the latest value is sent, earlier ones are dropped.
+ *
+ * Channels can be set from any thread.
+ *
+ * @since 10/16/26
+ */
+public class Telemetry {
+    private static Telemetry instance;
+
+    /**
+     * The maximum number of channels
+     */
+    public static final int CAPACITY = 256;
+
+    /**
+     * Default time between publishing a channel in seconds
+     */
+    public static final double DEFAULT_PERIOD = 0.1;
+
+    /**
+     * How often the publisher thread checks for values to send
+     */
+    private static final long PUBLISH_TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    //A NaN that Double.doubleToRawLongBits() never returns for a computed value, marks a channel that was never set
+    private static final long UNSET = 0x7ff8_dead_beef_0000L;
+
+    private final AtomicLongArray values;
+
+    private final String[] keys;
+    private final boolean[] isBoolean;
+    private final long[] periods;
+    private volatile int channelCount;
+
+    //Only used by the publisher thread
+    private final NetworkTableEntry[] entries;
+    private final long[] publishedValues;
+    private final long[] nextPublishTimes;
+
+    private Thread publisher;
+
+    private Telemetry() {
+        values = new AtomicLongArray(CAPACITY);
+        keys = new String[CAPACITY];
+        isBoolean = new boolean[CAPACITY];
+        periods = new long[CAPACITY];
+
+        entries = new NetworkTableEntry[CAPACITY];
+        publishedValues = new long[CAPACITY];
+        nextPublishTimes = new long[CAPACITY];
+    }
+
+    /**
+     * Creates a channel for a number, published every DEFAULT_PERIOD.
+     * Call this once (for example in a constructor or static field) and keep the Channel.
+     */
+    public Channel register(String key) {
+        return register(key, DEFAULT_PERIOD);
+    }
+
+    /**
+     * Creates a channel for a number.
+     *
+     * @param period The minimum time between publishing the value in seconds
+     */
+    public Channel register(String key, double period) {
+        return register(key, period, false);
+    }
+
+    /**
+     * Creates a channel for a boolean, published every DEFAULT_PERIOD.
+     */
+    public Channel registerBoolean(String key) {
+        return register(key, DEFAULT_PERIOD, true);
+    }
+
+    private synchronized Channel register(String key, double period, boolean bool) {
+        for (int i = 0; i < channelCount; i++) {
+            if (keys[i].equals(key)) {
+                throw new IllegalArgumentException("Telemetry key " + key + " is already registered");
+            }
+        }
+        if (channelCount == CAPACITY) {
+            throw new IllegalStateException("Cannot register " + key + ", all " + CAPACITY + " telemetry channels are used");
+        }
+
+        int index = channelCount;
+        keys[index] = key;
+        isBoolean[index] = bool;
+        periods[index] = (long) (period * 1e9);
+        values.set(index, UNSET);
+        publishedValues[index] = UNSET;
+        channelCount = index + 1; //Publishes the fields above to the publisher thread
+
+        return new Channel(index);
+    }
+
+    /**
+     * Starts the publisher thread, if it is not already running.
+     */
+    public synchronized void start() {
+        if (publisher != null) {
+            return;
+        }
+        publisher = new Thread(this::publishLoop, "Telemetry");
+        publisher.setDaemon(true);
+        publisher.setPriority(Thread.MIN_PRIORITY);
+        publisher.start();
+    }
+
+    private void publishLoop() {
+        while (!Thread.currentThread().isInterrupted()) {
+            long start = System.nanoTime();
+            publish(start);
+            LockSupport.parkNanos(PUBLISH_TICK_NANOS - (System.nanoTime() - start));
+        }
+    }
+
+    /**
+     * Sends every channel that is due and changed.
+     */
+    private void publish(long now) {
+        int count = channelCount;
+        for (int i = 0; i < count; i++) {
+            if (now - nextPublishTimes[i] < 0) {
+                continue;
+            }
+
+            long value = values.get(i);
+            if (value == UNSET || value == publishedValues[i]) {
+                continue;
+            }
+
+            if (entries[i] == null) {
+                entries[i] = SmartDashboard.getEntry(keys[i]);
+            }
+            if (isBoolean[i]) {
+                entries[i].setBoolean(value != 0);
+            } else {
+                entries[i].setDouble(Double.longBitsToDouble(value));
+            }
+            publishedValues[i] = value;
+            nextPublishTimes[i] = now + periods[i];
+        }
+    }
+
+    public static synchronized Telemetry getInstance() {
+        if(instance == null)
+            instance = new Telemetry();
+        return instance;
+    }
+
+    /**
+     * One published value.
+     */
+    public class Channel {
+        private final int index;
+
+        private Channel(int index) {
+            this.index = index;
+        }
+
+        public void set(double value) {
+            values.lazySet(index, Double.doubleToRawLongBits(value));
+        }
+
+        public void set(boolean value) {
+            values.lazySet(index, value ? 1 : 0);
+        }
+    }
+}
@@ -60,7 +60,7 @@ public class Vector {
     }
 
     /**
-     * Returns this vector after scaling it by a certain factor
+     * Scales this vector in place and returns it (does not create a new Vector)
      * 
      * @param scale The value to multiply each of the vector's components by
      */
@@ -0,0 +1,42 @@
+package frc.robot.util;
+
+/**
+ * A Clock that only moves when it is advanced, for simulations and replays that run faster than real time.
+ * Only one thread may advance the clock, any thread may read it.
+ * 
+ * @since 10/16/26
+ */
+public class VirtualClock implements Clock {
+    public static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private volatile long time;
+
+    @Override
+    public long nanoTime() {
+        return time;
+    }
+
+    /**
+     * Moves the clock forward by a number of nanoseconds
+     */
+    public void advanceNanos(long nanos) {
+        if (nanos < 0) {
+            throw new IllegalArgumentException("Time cannot go backwards: " + nanos);
+        }
+        time += nanos;
+    }
+
+    /**
+     * Moves the clock forward by a number of seconds, rounded to the nearest nanosecond
+     */
+    public void advance(double seconds) {
+        advanceNanos(Math.round(seconds * NANOS_PER_SECOND));
+    }
+
+    /**
+     * Sets the time in nanoseconds, which must not be before the current time
+     */
+    public void setNanoTime(long nanos) {
+        advanceNanos(nanos - time);
+    }
+}
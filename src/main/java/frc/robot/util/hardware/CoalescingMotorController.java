@@ -0,0 +1,334 @@
+package frc.robot.util.hardware;
+
+import com.ctre.phoenix.ErrorCode;
+import com.ctre.phoenix.ParamEnum;
+import com.ctre.phoenix.motion.MotionProfileStatus;
+import com.ctre.phoenix.motion.TrajectoryPoint;
+import com.ctre.phoenix.motorcontrol.ControlMode;
+import com.ctre.phoenix.motorcontrol.FeedbackDevice;
+import com.ctre.phoenix.motorcontrol.NeutralMode;
+import com.ctre.phoenix.motorcontrol.StatusFrame;
+
+import frc.robot.util.Clock;
+import frc.robot.util.MonotonicClock;
+
+/**
+ * A MotorController that drops calls which would not change what the controller is doing.
+ *
+ * clearMotionProfileTrajectories() is only sent once after points were added with pushMotionProfileTrajectory(). Each one dropped is a CAN frame that is not sent.
+ *
+ * A set() is only passed on if the control mode changed, the value moved by more than the tolerance,
+ * or KEEP_ALIVE_NANOS passed since the last one. Phoenix sends the control frame on its own period whether or not
+ * set() is called, so this saves the call into Phoenix but no bus bandwidth, and is counted separately. Calls that change
+ * how the controller interprets its setpoint (configFactoryDefault(), setInverted(),
+ * pushMotionProfileTrajectory()) always resend the next set().
+ * Every other call is passed through unchanged.
+ *
+ * @since 10/16/26
+ */
+public class CoalescingMotorController implements MotorController {
+    /**
+     * Nanoseconds after which an unchanged set() is passed on anyway
+     */
+    public static final long KEEP_ALIVE_NANOS = 100_000_000;
+
+    /**
+     * Default tolerance for set() values, far below one encoder tick, one unit of velocity or a percent of output
+     */
+    public static final double DEFAULT_TOLERANCE = 1e-4;
+
+    private final MotorController delegate;
+    private final double tolerance;
+    private final Clock clock;
+
+    private ControlMode lastMode; //null until the first set() and after anything that makes the next set() necessary
+    private double lastValue;
+    private long lastSentTime;
+    private boolean trajectoriesCleared;
+
+    private long sentSetCalls;
+    private long suppressedSetCalls;
+    private long sentFrames;
+    private long suppressedFrames;
+
+    public CoalescingMotorController(MotorController delegate) {
+        this(delegate, DEFAULT_TOLERANCE, MonotonicClock.getInstance());
+    }
+
+    /**
+     * @param tolerance The largest change in a set() value, in the control mode's units, that is not sent
+     * @param clock The clock used for the keep-alive
+     */
+    public CoalescingMotorController(MotorController delegate, double tolerance, Clock clock) {
+        this.delegate = delegate;
+        this.tolerance = tolerance;
+        this.clock = clock;
+    }
+
+    /**
+     * Gets the wrapped controller
+     */
+    public MotorController getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public synchronized void set(ControlMode mode, double value) {
+        long now = clock.nanoTime();
+        if (mode == lastMode && Math.abs(value - lastValue) <= tolerance && now - lastSentTime < KEEP_ALIVE_NANOS) {
+            suppressedSetCalls++;
+            return;
+        }
+        delegate.set(mode, value);
+        lastMode = mode;
+        lastValue = value;
+        lastSentTime = now;
+        sentSetCalls++;
+    }
+
+    @Override
+    public synchronized ErrorCode clearMotionProfileTrajectories() {
+        if (trajectoriesCleared) {
+            suppressedFrames++;
+            return ErrorCode.OK;
+        }
+        trajectoriesCleared = true;
+        sentFrames++;
+        return delegate.clearMotionProfileTrajectories();
+    }
+
+    @Override
+    public synchronized ErrorCode pushMotionProfileTrajectory(TrajectoryPoint point) {
+        lastMode = null;
+        trajectoriesCleared = false;
+        return delegate.pushMotionProfileTrajectory(point);
+    }
+
+    @Override
+    public synchronized ErrorCode configFactoryDefault() {
+        lastMode = null;
+        return delegate.configFactoryDefault();
+    }
+
+    @Override
+    public synchronized void setInverted(boolean invert) {
+        lastMode = null;
+        delegate.setInverted(invert);
+    }
+
+    /**
+     * Makes the next set() and clearMotionProfileTrajectories() go out even if nothing changed
+     */
+    public synchronized void invalidate() {
+        lastMode = null;
+        trajectoriesCleared = false;
+    }
+
+    /**
+     * Gets the number of set() calls passed on to the controller
+     */
+    public synchronized long getSentSetCalls() {
+        return sentSetCalls;
+    }
+
+    /**
+     * Gets the number of set() calls that were dropped. These do not save CAN frames, see the class comment
+     */
+    public synchronized long getSuppressedSetCalls() {
+        return suppressedSetCalls;
+    }
+
+    /**
+     * Gets the number of clearMotionProfileTrajectories() frames sent to the controller
+     */
+    public synchronized long getSentFrames() {
+        return sentFrames;
+    }
+
+    /**
+     * Gets the number of clearMotionProfileTrajectories() frames that were dropped
+     */
+    public synchronized long getSuppressedFrames() {
+        return suppressedFrames;
+    }
+
+    @Override
+    public ErrorCode configSetParameter(ParamEnum param, double value, int subValue, int ordinal, int timeoutMs) {
+        return delegate.configSetParameter(param, value, subValue, ordinal, timeoutMs);
+    }
+
+    @Override
+    public double configGetParameter(ParamEnum param, int ordinal, int timeoutMs) {
+        return delegate.configGetParameter(param, ordinal, timeoutMs);
+    }
+
+    @Override
+    public ErrorCode getLastError() {
+        return delegate.getLastError();
+    }
+
+    @Override
+    public ErrorCode configSelectedFeedbackSensor(FeedbackDevice device) {
+        return delegate.configSelectedFeedbackSensor(device);
+    }
+
+    @Override
+    public void setNeutralMode(NeutralMode mode) {
+        delegate.setNeutralMode(mode);
+    }
+
+    @Override
+    public void setSensorPhase(boolean phase) {
+        delegate.setSensorPhase(phase);
+    }
+
+    @Override
+    public ErrorCode configForwardSoftLimitEnable(boolean enable) {
+        return delegate.configForwardSoftLimitEnable(enable);
+    }
+
+    @Override
+    public ErrorCode configReverseSoftLimitEnable(boolean enable) {
+        return delegate.configReverseSoftLimitEnable(enable);
+    }
+
+    @Override
+    public void overrideLimitSwitchesEnable(boolean enable) {
+        delegate.overrideLimitSwitchesEnable(enable);
+    }
+
+    @Override
+    public ErrorCode configContinuousCurrentLimit(int amps) {
+        return delegate.configContinuousCurrentLimit(amps);
+    }
+
+    @Override
+    public ErrorCode configPeakCurrentLimit(int amps) {
+        return delegate.configPeakCurrentLimit(amps);
+    }
+
+    @Override
+    public ErrorCode configPeakCurrentDuration(int milliseconds) {
+        return delegate.configPeakCurrentDuration(milliseconds);
+    }
+
+    @Override
+    public void enableCurrentLimit(boolean enable) {
+        delegate.enableCurrentLimit(enable);
+    }
+
+    @Override
+    public ErrorCode configVoltageCompSaturation(double voltage) {
+        return delegate.configVoltageCompSaturation(voltage);
+    }
+
+    @Override
+    public void enableVoltageCompensation(boolean enable) {
+        delegate.enableVoltageCompensation(enable);
+    }
+
+    @Override
+    public ErrorCode config_kP(int slot, double value) {
+        return delegate.config_kP(slot, value);
+    }
+
+    @Override
+    public ErrorCode config_kI(int slot, double value) {
+        return delegate.config_kI(slot, value);
+    }
+
+    @Override
+    public ErrorCode config_kD(int slot, double value) {
+        return delegate.config_kD(slot, value);
+    }
+
+    @Override
+    public ErrorCode config_kF(int slot, double value) {
+        return delegate.config_kF(slot, value);
+    }
+
+    @Override
+    public ErrorCode configClosedloopRamp(double secondsFromNeutralToFull) {
+        return delegate.configClosedloopRamp(secondsFromNeutralToFull);
+    }
+
+    @Override
+    public ErrorCode setStatusFramePeriod(StatusFrame frame, int periodMs, int timeoutMs) {
+        return delegate.setStatusFramePeriod(frame, periodMs, timeoutMs);
+    }
+
+    @Override
+    public void selectProfileSlot(int slot, int pidIndex) {
+        delegate.selectProfileSlot(slot, pidIndex);
+    }
+
+    @Override
+    public ErrorCode configMotionProfileTrajectoryPeriod(int baseTrajDurationMs) {
+        return delegate.configMotionProfileTrajectoryPeriod(baseTrajDurationMs);
+    }
+
+    @Override
+    public ErrorCode setSelectedSensorPosition(int position) {
+        return delegate.setSelectedSensorPosition(position);
+    }
+
+    @Override
+    public int getSelectedSensorPosition() {
+        return delegate.getSelectedSensorPosition();
+    }
+
+    @Override
+    public int getSelectedSensorVelocity() {
+        return delegate.getSelectedSensorVelocity();
+    }
+
+    @Override
+    public int getClosedLoopError() {
+        return delegate.getClosedLoopError();
+    }
+
+    @Override
+    public double getOutputCurrent() {
+        return delegate.getOutputCurrent();
+    }
+
+    @Override
+    public int getPulseWidthRiseToFallUs() {
+        return delegate.getPulseWidthRiseToFallUs();
+    }
+
+    @Override
+    public ErrorCode getMotionProfileStatus(MotionProfileStatus status) {
+        return delegate.getMotionProfileStatus(status);
+    }
+
+    @Override
+    public void processMotionProfileBuffer() {
+        delegate.processMotionProfileBuffer();
+    }
+
+    @Override
+    public ErrorCode changeMotionControlFramePeriod(int periodMs) {
+        return delegate.changeMotionControlFramePeriod(periodMs);
+    }
+
+    @Override
+    public boolean isMotionProfileFinished() {
+        return delegate.isMotionProfileFinished();
+    }
+
+    @Override
+    public boolean hasResetOccurred() {
+        return delegate.hasResetOccurred();
+    }
+
+    @Override
+    public ErrorCode clearMotionProfileHasUnderrun() {
+        return delegate.clearMotionProfileHasUnderrun();
+    }
+
+    @Override
+    public int getActiveTrajectoryVelocity() {
+        return delegate.getActiveTrajectoryVelocity();
+    }
+}
@@ -0,0 +1,285 @@
+package frc.robot.util.hardware;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.ctre.phoenix.ErrorCode;
+
+import edu.wpi.first.wpilibj.DriverStation;
+import frc.robot.util.BackgroundExecutor;
+import frc.robot.util.Telemetry;
+
+/**
+ * Applies TalonConfigs, only writing what differs from what each controller already has.
+ *
+ * The registry keeps a shadow of the last configuration applied to every controller. The first time a parameter is
+ * applied to a controller, it is read back from the controller, since parameters stay in the Talon's flash across
+ * reboots. After that, applying an unchanged parameter or setting costs nothing, so commands can apply their whole
+ * config in initialize().
+ *
+ * Each blocking call waits at most TIMEOUT_MS. Calls to one controller are made in order, while applyAll()
+ * configures different controllers at the same time.
+ *
+ * The shadow is only correct if every configuration change goes through the registry.
+ * Call invalidate() after configuring a controller directly. A controller that resets (after a brownout, for example)
+ * loses its settings, so the drivetrain calls checkReset() for each controller every loop.
+ *
+ * A TalonConfig only declares the parameters the drive code uses. resetAll() restores the factory defaults first,
+ * so every parameter a config leaves out is known, not whatever the controller was last used for.
+ * The defaults are then read back, so only the declared values that differ from them are written.
+ *
+ * @since 10/16/26
+ */
+public class ConfigRegistry {
+    private static ConfigRegistry instance;
+
+    /**
+     * Milliseconds each configuration read or write waits for the controller to respond
+     */
+    public static final int TIMEOUT_MS = 50;
+
+    /**
+     * Largest relative difference between a parameter read back and its declared value that is not a change.
+     * The Talon stores gains in fixed point, so they do not read back exactly.
+     */
+    private static final double PARAMETER_TOLERANCE = 1e-3;
+
+    /**
+     * Largest absolute difference that is not a change, for values near 0. Finer than the Talon's fixed point gains.
+     */
+    private static final double PARAMETER_RESOLUTION = 1e-6;
+
+    private final Map<MotorController, TalonConfig> shadows;
+
+    private final AtomicLong writes;
+    private final AtomicLong unchanged;
+    private final AtomicLong readBacks;
+
+    private final Telemetry.Channel applyTime;
+    private final Telemetry.Channel applyWrites;
+
+    private ConfigRegistry() {
+        shadows = new IdentityHashMap<>();
+        writes = new AtomicLong();
+        unchanged = new AtomicLong();
+        readBacks = new AtomicLong();
+
+        applyTime = Telemetry.getInstance().register("Talon Config Time", 1);
+        applyWrites = Telemetry.getInstance().register("Talon Config Writes", 1);
+    }
+
+    /**
+     * Applies a config to one controller on the calling thread.
+     *
+     * @return The number of parameters and settings written
+     */
+    public int apply(MotorController motor, TalonConfig config) {
+        return apply(motor, config, false);
+    }
+
+    /**
+     * @param onlyMissing True to skip what is already in the shadow, so values applied since do not get replaced
+     */
+    private int apply(MotorController motor, TalonConfig config, boolean onlyMissing) {
+        TalonConfig shadow = getShadow(motor);
+        int written = 0;
+
+        synchronized (shadow) {
+            for (Map.Entry<TalonConfig.Parameter, Double> entry : config.getParameters().entrySet()) {
+                TalonConfig.Parameter parameter = entry.getKey();
+                double value = entry.getValue();
+                if (onlyMissing && shadow.getParameters().containsKey(parameter)) {
+                    continue;
+                }
+
+                Double current = shadow.getParameters().get(parameter);
+                if (current == null) {
+                    current = readBack(motor, parameter);
+                }
+                if (current != null && matches(current, value)) {
+                    shadow.set(parameter.getParam(), parameter.getOrdinal(), value);
+                    unchanged.incrementAndGet();
+                    continue;
+                }
+
+                ErrorCode error = motor.configSetParameter(parameter.getParam(), value, 0, parameter.getOrdinal(), TIMEOUT_MS);
+                writes.incrementAndGet();
+                written++;
+                if (error == ErrorCode.OK) {
+                    shadow.set(parameter.getParam(), parameter.getOrdinal(), value);
+                } else {
+                    //Not recorded, so the next apply() tries again
+                    DriverStation.reportWarning("Could not configure " + parameter + ": " + error, false);
+                }
+            }
+
+            for (Map.Entry<TalonConfig.Setting, Double> entry : config.getSettings().entrySet()) {
+                if (onlyMissing && shadow.getSettings().containsKey(entry.getKey())) {
+                    continue;
+                }
+                Double current = shadow.getSettings().get(entry.getKey());
+                if (current != null && current.doubleValue() == entry.getValue()) {
+                    unchanged.incrementAndGet();
+                    continue;
+                }
+                entry.getKey().apply(motor, entry.getValue());
+                shadow.set(entry.getKey(), entry.getValue());
+                writes.incrementAndGet();
+                written++;
+            }
+        }
+        return written;
+    }
+
+    /**
+     * Applies configs to many controllers at the same time, one thread per controller, and waits for all of them.
+     */
+    public void applyAll(Map<MotorController, TalonConfig> configs) {
+        applyAll(configs, false);
+    }
+
+    /**
+     * Restores the factory defaults of many controllers and then applies configs to them, the same way as applyAll().
+     * Used at boot, so no parameter depends on what was last flashed to a controller.
+     */
+    public void resetAll(Map<MotorController, TalonConfig> configs) {
+        applyAll(configs, true);
+    }
+
+    private void applyAll(Map<MotorController, TalonConfig> configs, boolean reset) {
+        if (configs.isEmpty()) {
+            return;
+        }
+        long startTime = System.nanoTime();
+        long startWrites = writes.get();
+
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(configs.size(), (runnable) -> {
+            Thread thread = new Thread(runnable, "Config-" + threadCount.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            CompletableFuture<?>[] futures = new CompletableFuture<?>[configs.size()];
+            int i = 0;
+            for (Map.Entry<MotorController, TalonConfig> entry : configs.entrySet()) {
+                futures[i++] = CompletableFuture.runAsync(() -> {
+                    if (reset) {
+                        reset(entry.getKey());
+                    }
+                    apply(entry.getKey(), entry.getValue());
+                }, executor);
+            }
+            CompletableFuture.allOf(futures).join();
+        } catch (CompletionException e) {
+            DriverStation.reportError("Could not configure motor controllers: " + e.getCause(), false);
+        } finally {
+            executor.shutdown();
+        }
+
+        //Milliseconds, so the boot time can be read off the dashboard
+        applyTime.set((System.nanoTime() - startTime) / 1e6);
+        applyWrites.set(writes.get() - startWrites);
+    }
+
+    /**
+     * Restores a controller's factory defaults and forgets what was applied to it, on the calling thread.
+     */
+    public void reset(MotorController motor) {
+        motor.hasResetOccurred(); //Clears the flag of the controller powering up, so checkReset() only sees later resets
+        ErrorCode error = motor.configFactoryDefault();
+        if (error != ErrorCode.OK) {
+            DriverStation.reportWarning("Could not restore factory defaults: " + error, false);
+        }
+        invalidate(motor);
+    }
+
+    /**
+     * Checks whether a controller reset since the last check, and if it did, applies everything that was applied to it
+     * before the reset again on a BackgroundExecutor thread. Values apply() sets in the meantime are kept.
+     * Does not wait for the controller, so it can run every loop.
+     *
+     * @return True if the controller reset
+     */
+    public boolean checkReset(MotorController motor) {
+        if (!motor.hasResetOccurred()) {
+            return false;
+        }
+        DriverStation.reportWarning("A motor controller reset, configuring it again", false);
+
+        TalonConfig previous;
+        synchronized (shadows) {
+            previous = shadows.remove(motor);
+        }
+        if (previous != null) {
+            TalonConfig restored;
+            synchronized (previous) {
+                restored = new TalonConfig().merge(previous);
+            }
+            BackgroundExecutor.getInstance().execute(() -> apply(motor, restored, true));
+        }
+        return true;
+    }
+
+    /**
+     * Forgets what was applied to a controller, so the next apply() reads every parameter back and writes every setting.
+     * Call after configuring the controller without the registry, or after it reset.
+     */
+    public void invalidate(MotorController motor) {
+        synchronized (shadows) {
+            shadows.remove(motor);
+        }
+    }
+
+    /**
+     * Gets the number of parameters and settings written since the robot started
+     */
+    public long getWrites() {
+        return writes.get();
+    }
+
+    /**
+     * Gets the number of parameters and settings that were applied without writing, since they had not changed
+     */
+    public long getUnchanged() {
+        return unchanged.get();
+    }
+
+    /**
+     * Gets the number of parameters read back from the controllers
+     */
+    public long getReadBacks() {
+        return readBacks.get();
+    }
+
+    private TalonConfig getShadow(MotorController motor) {
+        synchronized (shadows) {
+            return shadows.computeIfAbsent(motor, (key) -> new TalonConfig());
+        }
+    }
+
+    /**
+     * Reads a parameter from the controller, returning null if it could not be read
+     */
+    private Double readBack(MotorController motor, TalonConfig.Parameter parameter) {
+        double value = motor.configGetParameter(parameter.getParam(), parameter.getOrdinal(), TIMEOUT_MS);
+        readBacks.incrementAndGet();
+        return motor.getLastError() == ErrorCode.OK ? value : null;
+    }
+
+    private static boolean matches(double current, double value) {
+        return Math.abs(current - value) <= Math.max(PARAMETER_TOLERANCE * Math.abs(value), PARAMETER_RESOLUTION);
+    }
+
+    public static synchronized ConfigRegistry getInstance() {
+        if(instance == null)
+            instance = new ConfigRegistry();
+        return instance;
+    }
+}
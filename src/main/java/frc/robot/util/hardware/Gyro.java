@@ -0,0 +1,24 @@
+package frc.robot.util.hardware;
+
+import com.ctre.phoenix.ErrorCode;
+
+/**
+ * The parts of a Pigeon IMU that the drivetrain uses. Implemented by PigeonGyro and SimulatedPigeon.
+ * 
+ * @since 10/16/26
+ */
+public interface Gyro {
+    ErrorCode configFactoryDefault();
+
+    /**
+     * Sets the yaw and fused heading to zero
+     */
+    void zero();
+
+    /**
+     * Gets the fused heading in degrees
+     */
+    double getFusedHeading();
+
+    ErrorCode setFusedHeading(double angleDegrees);
+}
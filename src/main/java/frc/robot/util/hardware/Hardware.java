@@ -0,0 +1,59 @@
+package frc.robot.util.hardware;
+
+import edu.wpi.first.wpilibj.RobotBase;
+
+/**
+ * Creates the motor controllers and gyros used by the robot.
+ * 
+ * On the robot everything is backed by the Phoenix devices. Anywhere else (a desktop simulation, a benchmark)
+ * the simulated versions are used instead, so the drive code can run without a robot.
+ * 
+ * @since 10/16/26
+ */
+public class Hardware {
+    private static Boolean simulated;
+
+    /**
+     * Returns true if simulated devices are created. Defaults to true when not running on a roboRIO.
+     */
+    public static synchronized boolean isSimulated() {
+        if (simulated == null) {
+            simulated = !RobotBase.isReal();
+        }
+        return simulated;
+    }
+
+    /**
+     * Chooses between real and simulated devices. Must be called before any device is created.
+     * Code that runs without the WPILib natives (for example benchmarks) has to call this, since detecting the roboRIO needs them.
+     */
+    public static synchronized void setSimulated(boolean isSimulated) {
+        simulated = isSimulated;
+    }
+
+    /**
+     * Creates a motor controller. Real Talons are wrapped in a CoalescingMotorController, so unchanged setpoints
+     * do not use CAN bandwidth. Simulated ones are not, since tests and replays inspect them directly.
+     * 
+     * @param deviceId The CAN id of the Talon
+     * @param simulatedFreeSpeed The velocity in encoder ticks per 100 ms at full output, only used when simulated
+     */
+    public static MotorController createMotorController(int deviceId, double simulatedFreeSpeed) {
+        if (isSimulated()) {
+            return new SimulatedTalon(simulatedFreeSpeed);
+        }
+        return new CoalescingMotorController(new TalonController(deviceId));
+    }
+
+    /**
+     * Creates a gyro.
+     * 
+     * @param deviceId The CAN id of the Pigeon
+     */
+    public static Gyro createGyro(int deviceId) {
+        if (isSimulated()) {
+            return new SimulatedPigeon();
+        }
+        return new PigeonGyro(deviceId);
+    }
+}
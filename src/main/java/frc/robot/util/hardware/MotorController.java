@@ -0,0 +1,152 @@
+package frc.robot.util.hardware;
+
+import com.ctre.phoenix.ErrorCode;
+import com.ctre.phoenix.ParamEnum;
+import com.ctre.phoenix.motion.MotionProfileStatus;
+import com.ctre.phoenix.motion.TrajectoryPoint;
+import com.ctre.phoenix.motorcontrol.ControlMode;
+import com.ctre.phoenix.motorcontrol.FeedbackDevice;
+import com.ctre.phoenix.motorcontrol.NeutralMode;
+import com.ctre.phoenix.motorcontrol.StatusFrame;
+
+/**
+ * The parts of a Talon SRX that the drivetrain uses.
+ * 
+ * SwerveModule and Drivetrain only talk to motor controllers through this interface, so the same code
+ * can run against the real Talons (TalonController) or against a model of them (SimulatedTalon).
+ * Method names, units and return values are the same as Phoenix's, so the Phoenix documentation applies.
+ * 
+ * @since 10/16/26
+ */
+public interface MotorController {
+    ErrorCode configFactoryDefault();
+
+    /**
+     * Writes a configuration parameter, waiting up to timeoutMs for the controller to acknowledge it.
+     * Used by ConfigRegistry, which writes every TalonConfig parameter this way.
+     */
+    ErrorCode configSetParameter(ParamEnum param, double value, int subValue, int ordinal, int timeoutMs);
+
+    /**
+     * Reads a configuration parameter back from the controller, waiting up to timeoutMs.
+     * If the read failed, getLastError() returns the error.
+     */
+    double configGetParameter(ParamEnum param, int ordinal, int timeoutMs);
+
+    /**
+     * Gets the error of the last call that communicated with the controller
+     */
+    ErrorCode getLastError();
+
+    /**
+     * Returns true if the controller reset since the last call, for example after a brownout. The first call after
+     * the controller powers up returns true. Does not wait for the controller.
+     */
+    boolean hasResetOccurred();
+
+    ErrorCode configSelectedFeedbackSensor(FeedbackDevice device);
+
+    void setNeutralMode(NeutralMode mode);
+
+    void setInverted(boolean invert);
+
+    void setSensorPhase(boolean phase);
+
+    ErrorCode configForwardSoftLimitEnable(boolean enable);
+
+    ErrorCode configReverseSoftLimitEnable(boolean enable);
+
+    void overrideLimitSwitchesEnable(boolean enable);
+
+    ErrorCode configContinuousCurrentLimit(int amps);
+
+    ErrorCode configPeakCurrentLimit(int amps);
+
+    ErrorCode configPeakCurrentDuration(int milliseconds);
+
+    void enableCurrentLimit(boolean enable);
+
+    ErrorCode configVoltageCompSaturation(double voltage);
+
+    void enableVoltageCompensation(boolean enable);
+
+    ErrorCode config_kP(int slot, double value);
+
+    ErrorCode config_kI(int slot, double value);
+
+    ErrorCode config_kD(int slot, double value);
+
+    ErrorCode config_kF(int slot, double value);
+
+    /**
+     * Sets the time in seconds for the closed loop output to go from neutral to full
+     */
+    ErrorCode configClosedloopRamp(double secondsFromNeutralToFull);
+
+    /**
+     * Sets how often the controller sends a status frame, waiting up to timeoutMs for it to acknowledge.
+     * With a timeout of 0 the frame is sent without waiting and errors are not reported.
+     */
+    ErrorCode setStatusFramePeriod(StatusFrame frame, int periodMs, int timeoutMs);
+
+    void selectProfileSlot(int slot, int pidIndex);
+
+    ErrorCode configMotionProfileTrajectoryPeriod(int baseTrajDurationMs);
+
+    void set(ControlMode mode, double value);
+
+    ErrorCode setSelectedSensorPosition(int position);
+
+    /**
+     * Gets the sensor position in encoder ticks
+     */
+    int getSelectedSensorPosition();
+
+    /**
+     * Gets the sensor velocity in encoder ticks per 100 ms
+     */
+    int getSelectedSensorVelocity();
+
+    int getClosedLoopError();
+
+    double getOutputCurrent();
+
+    /**
+     * Gets the pulse width of the absolute encoder in microseconds
+     */
+    int getPulseWidthRiseToFallUs();
+
+    /**
+     * Adds a point to the end of the top buffer, for streaming a profile a few points at a time.
+     * The point is copied, so it can be reused for the next point.
+     * Nothing is sent until processMotionProfileBuffer() moves the points to the controller,
+     * and the profile does not start until set(ControlMode.MotionProfile, SetValueMotionProfile.Enable.value).
+     */
+    ErrorCode pushMotionProfileTrajectory(TrajectoryPoint point);
+
+    /**
+     * Moves points from the top buffer to the controller. Call at least twice per point duration while streaming.
+     */
+    void processMotionProfileBuffer();
+
+    /**
+     * Sets how often points are sent to the controller while streaming, usually half the point duration
+     */
+    ErrorCode changeMotionControlFramePeriod(int periodMs);
+
+    ErrorCode getMotionProfileStatus(MotionProfileStatus status);
+
+    boolean isMotionProfileFinished();
+
+    ErrorCode clearMotionProfileTrajectories();
+
+    /**
+     * Clears the sticky underrun flag of the motion profile status. Clearing the trajectories does not clear it.
+     */
+    ErrorCode clearMotionProfileHasUnderrun();
+
+    /**
+     * Gets the velocity of the active motion profile point in encoder ticks per 100 ms
+     */
+    int getActiveTrajectoryVelocity();
+}
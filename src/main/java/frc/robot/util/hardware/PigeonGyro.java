@@ -0,0 +1,45 @@
+package frc.robot.util.hardware;
+
+import com.ctre.phoenix.ErrorCode;
+
+import harkerrobolib.wrappers.HSPigeon;
+
+/**
+ * A Gyro that passes every call through to a real Pigeon IMU.
+ * 
+ * @since 10/16/26
+ */
+public class PigeonGyro implements Gyro {
+    private final HSPigeon pigeon;
+
+    public PigeonGyro(int deviceId) {
+        pigeon = new HSPigeon(deviceId);
+    }
+
+    /**
+     * Gets the underlying Pigeon, for Phoenix features that are not part of Gyro
+     */
+    public HSPigeon getPigeon() {
+        return pigeon;
+    }
+
+    @Override
+    public ErrorCode configFactoryDefault() {
+        return pigeon.configFactoryDefault();
+    }
+
+    @Override
+    public void zero() {
+        pigeon.zero();
+    }
+
+    @Override
+    public double getFusedHeading() {
+        return pigeon.getFusedHeading();
+    }
+
+    @Override
+    public ErrorCode setFusedHeading(double angleDegrees) {
+        return pigeon.setFusedHeading(angleDegrees);
+    }
+}
@@ -0,0 +1,40 @@
+package frc.robot.util.hardware;
+
+import com.ctre.phoenix.ErrorCode;
+
+/**
+ * A Gyro whose heading is moved by a simulation instead of a real robot.
+ * 
+ * @since 10/16/26
+ */
+public class SimulatedPigeon implements Gyro {
+    private double heading;
+
+    @Override
+    public ErrorCode configFactoryDefault() {
+        return ErrorCode.OK;
+    }
+
+    @Override
+    public synchronized void zero() {
+        heading = 0;
+    }
+
+    @Override
+    public synchronized double getFusedHeading() {
+        return heading;
+    }
+
+    @Override
+    public synchronized ErrorCode setFusedHeading(double angleDegrees) {
+        heading = angleDegrees;
+        return ErrorCode.OK;
+    }
+
+    /**
+     * Turns the simulated robot, counterclockwise positive like the fused heading.
+     */
+    public synchronized void rotate(double degrees) {
+        heading += degrees;
+    }
+}
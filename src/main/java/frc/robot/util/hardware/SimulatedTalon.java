@@ -0,0 +1,636 @@
+package frc.robot.util.hardware;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import com.ctre.phoenix.ErrorCode;
+import com.ctre.phoenix.ParamEnum;
+import com.ctre.phoenix.motion.MotionProfileStatus;
+import com.ctre.phoenix.motion.SetValueMotionProfile;
+import com.ctre.phoenix.motion.TrajectoryPoint;
+import com.ctre.phoenix.motorcontrol.ControlMode;
+import com.ctre.phoenix.motorcontrol.FeedbackDevice;
+import com.ctre.phoenix.motorcontrol.NeutralMode;
+import com.ctre.phoenix.motorcontrol.StatusFrame;
+
+/**
+ * A model of a Talon SRX driving a motor, for running the drive code without a robot.
+ *
+ * The closed loop runs every millisecond like the Talon's, using the configured kP, kI, kD and kF of the selected slot
+ * in Talon units (output of 1023 is 100%) and the closed loop ramp. Position, Velocity and MotionProfile modes are modeled.
+ * The motor is a first order system: its velocity approaches output * free speed with a fixed time constant.
+ * Motion profile points are held for their full duration (no interpolation) and the last point is held once reached.
+ * Pushed points are available to the closed loop immediately, so processMotionProfileBuffer() does nothing.
+ *
+ * The sensor is always in phase with the motor, so inversion and sensor phase are stored but do not change the model.
+ * Nothing moves until step() is called.
+ *
+ * @since 10/16/26
+ */
+public class SimulatedTalon implements MotorController {
+    public static final int SLOT_COUNT = 4;
+
+    /**
+     * Seconds between updates of the Talon's closed loop
+     */
+    public static final double LOOP_PERIOD = 0.001;
+
+    private static final double FULL_OUTPUT = 1023;
+    private static final double TIME_EPSILON = 1e-9;
+    private static final double DEFAULT_TIME_CONSTANT = 0.05;
+    private static final double STALL_CURRENT = 130;
+
+    //Number of points the Talon itself can hold, the rest wait in the top buffer on the roboRIO
+    private static final int BOTTOM_BUFFER_SIZE = 128;
+    private static final int TOP_BUFFER_SIZE = 2048;
+
+    private static final int MP_DISABLE = 0;
+    private static final int MP_ENABLE = 1;
+    private static final int MP_HOLD = 2;
+
+    private final double freeSpeed;
+    private final double timeConstant;
+
+    //Configuration
+    private final double[] kP = new double[SLOT_COUNT];
+    private final double[] kI = new double[SLOT_COUNT];
+    private final double[] kD = new double[SLOT_COUNT];
+    private final double[] kF = new double[SLOT_COUNT];
+    private final Map<StatusFrame, Integer> statusFramePeriods = new EnumMap<>(StatusFrame.class);
+    private double closedLoopRamp;
+    private int slot;
+    private int trajectoryPeriod;
+    private FeedbackDevice feedbackDevice;
+    private NeutralMode neutralMode;
+    private boolean inverted;
+    private boolean sensorPhase;
+    private boolean forwardSoftLimitEnabled;
+    private boolean reverseSoftLimitEnabled;
+    private boolean limitSwitchesEnabled;
+    private int continuousCurrentLimit;
+    private int peakCurrentLimit;
+    private int peakCurrentDuration;
+    private boolean currentLimitEnabled;
+    private double voltageCompSaturation;
+    private boolean voltageCompEnabled;
+
+    //State
+    private ControlMode mode;
+    private double demand;
+    private double output;
+    private double position;
+    private double velocity;
+    private double integral;
+    private double lastError;
+    private double closedLoopError;
+    private double current;
+    private int pulseWidth;
+    private double unsimulatedTime;
+
+    //Motion profile state
+    private SimulatedTrajectoryBuffer profile; //pushedPoints, or null after the trajectories were cleared
+    private final SimulatedTrajectoryBuffer pushedPoints = new SimulatedTrajectoryBuffer();
+    private int pointIndex;
+    private double pointElapsed;
+    private boolean hasUnderrun;
+
+    //Set like a Talon's when it powers up, never set again since the model does not reset
+    private boolean resetOccurred = true;
+
+    /**
+     * Creates a simulated Talon with a default motor time constant.
+     *
+     * @param freeSpeed The velocity in encoder ticks per 100 ms at full output
+     */
+    public SimulatedTalon(double freeSpeed) {
+        this(freeSpeed, DEFAULT_TIME_CONSTANT);
+    }
+
+    /**
+     * @param freeSpeed The velocity in encoder ticks per 100 ms at full output
+     * @param timeConstant The time in seconds for the velocity to reach 63% of a step in output
+     */
+    public SimulatedTalon(double freeSpeed, double timeConstant) {
+        this.freeSpeed = freeSpeed;
+        this.timeConstant = timeConstant;
+        configFactoryDefault();
+        mode = ControlMode.Disabled;
+    }
+
+    /**
+     * Advances the simulation. Time that does not fill a whole closed loop period is carried over to the next call.
+     *
+     * @param dt The time to simulate in seconds
+     */
+    public synchronized void step(double dt) {
+        unsimulatedTime += dt;
+        while (unsimulatedTime >= LOOP_PERIOD - TIME_EPSILON) { //Tolerate rounding so 0.02 is always 20 periods
+            unsimulatedTime -= LOOP_PERIOD;
+            updateClosedLoop();
+            updateMotor();
+        }
+    }
+
+    private void updateClosedLoop() {
+        double target;
+        switch (mode) {
+            case PercentOutput:
+                output = clamp(demand);
+                return;
+            case Position:
+                closedLoopError = demand - position;
+                target = clamp(pid(closedLoopError) + kF[slot] * demand / FULL_OUTPUT);
+                break;
+            case Velocity:
+                closedLoopError = demand - velocity;
+                target = clamp(pid(closedLoopError) + kF[slot] * demand / FULL_OUTPUT);
+                break;
+            case MotionProfile:
+                target = updateMotionProfile();
+                break;
+            default:
+                output = 0;
+                return;
+        }
+
+        if (closedLoopRamp > 0) {
+            double maxChange = LOOP_PERIOD / closedLoopRamp;
+            target = Math.max(output - maxChange, Math.min(output + maxChange, target));
+        }
+        output = target;
+    }
+
+    /**
+     * Runs the active profile point and moves on to the next one once its duration has passed.
+     *
+     * @return The output to apply
+     */
+    private double updateMotionProfile() {
+        if (profile == null || profile.size() == 0 || (int) demand == MP_DISABLE) {
+            integral = 0;
+            return 0;
+        }
+
+        if (pointElapsed == 0 && profile.isZeroPos(pointIndex)) {
+            position = 0;
+        }
+        slot = profile.getProfileSlot(pointIndex);
+
+        double targetVelocity = (int) demand == MP_HOLD ? 0 : profile.getVelocity(pointIndex);
+        double feedForward = (int) demand == MP_HOLD ? 0 : profile.getArbFeedFwd(pointIndex);
+        closedLoopError = profile.getPosition(pointIndex) - position;
+        double target = clamp(pid(closedLoopError) + kF[slot] * targetVelocity / FULL_OUTPUT + feedForward);
+
+        if ((int) demand == MP_ENABLE && !profile.isLastPoint(pointIndex)) {
+            pointElapsed += LOOP_PERIOD;
+            if (pointElapsed * 1000 >= getPointDuration() - TIME_EPSILON) {
+                if (pointIndex + 1 < profile.size()) {
+                    pointIndex++;
+                    pointElapsed = 0;
+                } else {
+                    hasUnderrun = true; //Ran out of points before reaching the last one, so hold the current point
+                }
+            }
+        }
+        return target;
+    }
+
+    private int getPointDuration() {
+        return trajectoryPeriod + profile.getTimeDur(pointIndex);
+    }
+
+    private double pid(double error) {
+        integral += error;
+        double derivative = error - lastError;
+        lastError = error;
+        return (kP[slot] * error + kI[slot] * integral + kD[slot] * derivative) / FULL_OUTPUT;
+    }
+
+    private void updateMotor() {
+        velocity += (output * freeSpeed - velocity) * LOOP_PERIOD / timeConstant;
+        position += velocity * LOOP_PERIOD * 10; //Velocity is per 100 ms
+
+        //Current rises with the difference between the applied voltage and the back EMF
+        current = Math.abs(output - velocity / freeSpeed) * STALL_CURRENT;
+        if (currentLimitEnabled) {
+            current = Math.min(current, continuousCurrentLimit);
+        }
+    }
+
+    private static double clamp(double output) {
+        return Math.max(-1, Math.min(1, output));
+    }
+
+    /**
+     * Stops the motor at position 0 and clears the control mode and motion profile, keeping the configuration.
+     */
+    public synchronized void reset() {
+        clearMotionProfileTrajectories();
+        mode = ControlMode.Disabled;
+        demand = 0;
+        output = 0;
+        position = 0;
+        velocity = 0;
+        integral = 0;
+        lastError = 0;
+        closedLoopError = 0;
+        current = 0;
+        unsimulatedTime = 0;
+    }
+
+    /**
+     * Gets the output of the motor from -1 to 1
+     */
+    public synchronized double getMotorOutputPercent() {
+        return output;
+    }
+
+    /**
+     * Gets the exact sensor position in encoder ticks, without rounding
+     */
+    public synchronized double getPosition() {
+        return position;
+    }
+
+    /**
+     * Gets the exact sensor velocity in encoder ticks per 100 ms, without rounding
+     */
+    public synchronized double getVelocity() {
+        return velocity;
+    }
+
+    /**
+     * Overrides the simulated sensor readings, for example to replay readings recorded on the robot.
+     * The next step() continues from these values.
+     */
+    public synchronized void setSensorState(double position, double velocity, double closedLoopError) {
+        this.position = position;
+        this.velocity = velocity;
+        this.closedLoopError = closedLoopError;
+    }
+
+    public synchronized ControlMode getControlMode() {
+        return mode;
+    }
+
+    /**
+     * Sets the value returned by getPulseWidthRiseToFallUs(), to simulate the absolute encoder
+     */
+    public synchronized void setPulseWidthRiseToFallUs(int pulseWidth) {
+        this.pulseWidth = pulseWidth;
+    }
+
+    @Override
+    public synchronized ErrorCode configFactoryDefault() {
+        for (int i = 0; i < SLOT_COUNT; i++) {
+            kP[i] = 0;
+            kI[i] = 0;
+            kD[i] = 0;
+            kF[i] = 0;
+        }
+        statusFramePeriods.clear();
+        closedLoopRamp = 0;
+        slot = 0;
+        trajectoryPeriod = 0;
+        feedbackDevice = FeedbackDevice.QuadEncoder;
+        neutralMode = NeutralMode.Coast;
+        inverted = false;
+        sensorPhase = false;
+        forwardSoftLimitEnabled = false;
+        reverseSoftLimitEnabled = false;
+        limitSwitchesEnabled = true;
+        continuousCurrentLimit = 1;
+        peakCurrentLimit = 1;
+        peakCurrentDuration = 1;
+        currentLimitEnabled = false;
+        voltageCompSaturation = 12;
+        voltageCompEnabled = false;
+        return ErrorCode.OK;
+    }
+
+    /**
+     * Supports the parameters TalonConfig can write, as if they were written with the typed config methods
+     */
+    @Override
+    public synchronized ErrorCode configSetParameter(ParamEnum param, double value, int subValue, int ordinal, int timeoutMs) {
+        switch (param) {
+            case eProfileParamSlot_P:
+                return config_kP(ordinal, value);
+            case eProfileParamSlot_I:
+                return config_kI(ordinal, value);
+            case eProfileParamSlot_D:
+                return config_kD(ordinal, value);
+            case eProfileParamSlot_F:
+                return config_kF(ordinal, value);
+            case eClosedloopRamp:
+                return configClosedloopRamp(value);
+            case eFeedbackSensorType:
+                return configSelectedFeedbackSensor(FeedbackDevice.valueOf((int) value));
+            case eForwardSoftLimitEnable:
+                return configForwardSoftLimitEnable(value != 0);
+            case eReverseSoftLimitEnable:
+                return configReverseSoftLimitEnable(value != 0);
+            case eContinuousCurrentLimitAmps:
+                return configContinuousCurrentLimit((int) value);
+            case ePeakCurrentLimitAmps:
+                return configPeakCurrentLimit((int) value);
+            case ePeakCurrentLimitMs:
+                return configPeakCurrentDuration((int) value);
+            case eNominalBatteryVoltage:
+                return configVoltageCompSaturation(value);
+            case eMotionProfileTrajectoryPeriod:
+                return configMotionProfileTrajectoryPeriod((int) value);
+            default:
+                return ErrorCode.GENERAL_ERROR;
+        }
+    }
+
+    @Override
+    public synchronized double configGetParameter(ParamEnum param, int ordinal, int timeoutMs) {
+        switch (param) {
+            case eProfileParamSlot_P:
+                return kP[ordinal];
+            case eProfileParamSlot_I:
+                return kI[ordinal];
+            case eProfileParamSlot_D:
+                return kD[ordinal];
+            case eProfileParamSlot_F:
+                return kF[ordinal];
+            case eClosedloopRamp:
+                return closedLoopRamp;
+            case eFeedbackSensorType:
+                return feedbackDevice.value;
+            case eForwardSoftLimitEnable:
+                return forwardSoftLimitEnabled ? 1 : 0;
+            case eReverseSoftLimitEnable:
+                return reverseSoftLimitEnabled ? 1 : 0;
+            case eContinuousCurrentLimitAmps:
+                return continuousCurrentLimit;
+            case ePeakCurrentLimitAmps:
+                return peakCurrentLimit;
+            case ePeakCurrentLimitMs:
+                return peakCurrentDuration;
+            case eNominalBatteryVoltage:
+                return voltageCompSaturation;
+            case eMotionProfileTrajectoryPeriod:
+                return trajectoryPeriod;
+            default:
+                return 0;
+        }
+    }
+
+    @Override
+    public ErrorCode getLastError() {
+        return ErrorCode.OK;
+    }
+
+    @Override
+    public synchronized ErrorCode configSelectedFeedbackSensor(FeedbackDevice device) {
+        feedbackDevice = device;
+        return ErrorCode.OK;
+    }
+
+    @Override
+    public synchronized void setNeutralMode(NeutralMode mode) {
+        neutralMode = mode;
+    }
+
+    @Override
+    public synchronized void setInverted(boolean invert) {
+        inverted = invert;
+    }
+
+    @Override
+    public synchronized void setSensorPhase(boolean phase) {
+        sensorPhase = phase;
+    }
+
+    @Override
+    public synchronized ErrorCode configForwardSoftLimitEnable(boolean enable) {
+        forwardSoftLimitEnabled = enable;
+        return ErrorCode.OK;
+    }
+
+    @Override
+    public synchronized ErrorCode configReverseSoftLimitEnable(boolean enable) {
+        reverseSoftLimitEnabled = enable;
+        return ErrorCode.OK;
+    }
+
+    @Override
+    public synchronized void overrideLimitSwitchesEnable(boolean enable) {
+        limitSwitchesEnabled = enable;
+    }
+
+    @Override
+    public synchronized ErrorCode configContinuousCurrentLimit(int amps) {
+        continuousCurrentLimit = amps;
+        return ErrorCode.OK;
+    }
+
+    @Override
+    public synchronized ErrorCode configPeakCurrentLimit(int amps) {
+        peakCurrentLimit = amps;
+        return ErrorCode.OK;
+    }
+
+    @Override
+    public synchronized ErrorCode configPeakCurrentDuration(int milliseconds) {
+        peakCurrentDuration = milliseconds;
+        return ErrorCode.OK;
+    }
+
+    @Override
+    public synchronized void enableCurrentLimit(boolean enable) {
+        currentLimitEnabled = enable;
+    }
+
+    @Override
+    public synchronized ErrorCode configVoltageCompSaturation(double voltage) {
+        voltageCompSaturation = voltage;
+        return ErrorCode.OK;
+    }
+
+    @Override
+    public synchronized void enableVoltageCompensation(boolean enable) {
+        voltageCompEnabled = enable;
+    }
+
+    @Override
+    public synchronized ErrorCode config_kP(int slot, double value) {
+        kP[slot] = value;
+        return ErrorCode.OK;
+    }
+
+    @Override
+    public synchronized ErrorCode config_kI(int slot, double value) {
+        kI[slot] = value;
+        return ErrorCode.OK;
+    }
+
+    @Override
+    public synchronized ErrorCode config_kD(int slot, double value) {
+        kD[slot] = value;
+        return ErrorCode.OK;
+    }
+
+    @Override
+    public synchronized ErrorCode config_kF(int slot, double value) {
+        kF[slot] = value;
+        return ErrorCode.OK;
+    }
+
+    @Override
+    public synchronized ErrorCode configClosedloopRamp(double secondsFromNeutralToFull) {
+        closedLoopRamp = secondsFromNeutralToFull;
+        return ErrorCode.OK;
+    }
+
+    @Override
+    public synchronized ErrorCode setStatusFramePeriod(StatusFrame frame, int periodMs, int timeoutMs) {
+        statusFramePeriods.put(frame, periodMs);
+        return ErrorCode.OK;
+    }
+
+    @Override
+    public synchronized void selectProfileSlot(int slot, int pidIndex) {
+        this.slot = slot;
+    }
+
+    @Override
+    public synchronized ErrorCode configMotionProfileTrajectoryPeriod(int baseTrajDurationMs) {
+        trajectoryPeriod = baseTrajDurationMs;
+        return ErrorCode.OK;
+    }
+
+    @Override
+    public synchronized void set(ControlMode mode, double value) {
+        if (mode != this.mode) {
+            integral = 0;
+            lastError = 0;
+            closedLoopError = 0;
+        }
+        this.mode = mode;
+        demand = value;
+    }
+
+    @Override
+    public synchronized ErrorCode setSelectedSensorPosition(int position) {
+        this.position = position;
+        return ErrorCode.OK;
+    }
+
+    @Override
+    public synchronized int getSelectedSensorPosition() {
+        return (int) position;
+    }
+
+    @Override
+    public synchronized int getSelectedSensorVelocity() {
+        return (int) velocity;
+    }
+
+    @Override
+    public synchronized int getClosedLoopError() {
+        return (int) closedLoopError;
+    }
+
+    @Override
+    public synchronized double getOutputCurrent() {
+        return current;
+    }
+
+    @Override
+    public synchronized int getPulseWidthRiseToFallUs() {
+        return pulseWidth;
+    }
+
+    /**
+     * Appends the point to the points pushed since the trajectories were last cleared.
+     */
+    @Override
+    public synchronized ErrorCode pushMotionProfileTrajectory(TrajectoryPoint point) {
+        if (profile == null) {
+            pushedPoints.clear();
+            profile = pushedPoints;
+        } else if (profile.size() - pointIndex >= BOTTOM_BUFFER_SIZE + TOP_BUFFER_SIZE) {
+            return ErrorCode.GENERAL_ERROR; //Both buffers are full
+        } else if (pointIndex >= BOTTOM_BUFFER_SIZE) {
+            //Drop the points already run, so streaming a long profile uses as little memory as on the Talon
+            pushedPoints.removeFirst(pointIndex);
+            pointIndex = 0;
+        }
+        return pushedPoints.write(point);
+    }
+
+    @Override
+    public void processMotionProfileBuffer() {
+    }
+
+    @Override
+    public ErrorCode changeMotionControlFramePeriod(int periodMs) {
+        return ErrorCode.OK;
+    }
+
+    @Override
+    public synchronized ErrorCode getMotionProfileStatus(MotionProfileStatus status) {
+        int remaining = profile == null ? 0 : profile.size() - pointIndex;
+        boolean activePointValid = remaining > 0;
+
+        status.btmBufferCnt = Math.min(remaining, BOTTOM_BUFFER_SIZE);
+        status.topBufferCnt = remaining - status.btmBufferCnt;
+        status.topBufferRem = TOP_BUFFER_SIZE - status.topBufferCnt;
+        status.hasUnderrun = hasUnderrun;
+        status.isUnderrun = hasUnderrun && activePointValid && !profile.isLastPoint(pointIndex);
+        status.activePointValid = activePointValid;
+        status.isLast = activePointValid && profile.isLastPoint(pointIndex);
+        status.profileSlotSelect0 = slot;
+        status.profileSlotSelect1 = 0;
+        status.timeDurMs = activePointValid ? getPointDuration() : 0;
+        if (mode != ControlMode.MotionProfile || (int) demand == MP_DISABLE) {
+            status.outputEnable = SetValueMotionProfile.Disable;
+        } else if ((int) demand == MP_HOLD) {
+            status.outputEnable = SetValueMotionProfile.Hold;
+        } else {
+            status.outputEnable = SetValueMotionProfile.Enable;
+        }
+        return ErrorCode.OK;
+    }
+
+    @Override
+    public synchronized boolean isMotionProfileFinished() {
+        return mode == ControlMode.MotionProfile && profile != null && profile.size() > 0 && profile.isLastPoint(pointIndex);
+    }
+
+    @Override
+    public synchronized ErrorCode clearMotionProfileTrajectories() {
+        profile = null;
+        pointIndex = 0;
+        pointElapsed = 0;
+        return ErrorCode.OK;
+    }
+
+    @Override
+    public synchronized boolean hasResetOccurred() {
+        boolean occurred = resetOccurred;
+        resetOccurred = false;
+        return occurred;
+    }
+
+    /**
+     * Like a Talon's, the underrun flag stays set across cleared trajectories until this is called
+     */
+    @Override
+    public synchronized ErrorCode clearMotionProfileHasUnderrun() {
+        hasUnderrun = false;
+        return ErrorCode.OK;
+    }
+
+    @Override
+    public synchronized int getActiveTrajectoryVelocity() {
+        if (mode != ControlMode.MotionProfile || profile == null || profile.size() == 0) {
+            return 0;
+        }
+        return (int) profile.getVelocity(pointIndex);
+    }
+}
@@ -0,0 +1,111 @@
+package frc.robot.util.hardware;
+
+import java.util.Arrays;
+
+import com.ctre.phoenix.ErrorCode;
+import com.ctre.phoenix.motion.TrajectoryPoint;
+
+/**
+ * The motion profile points pushed to a SimulatedTalon, stored in plain Java arrays.
+ * Points are copied when they are written, so the same TrajectoryPoint can be reused for every point.
+ * 
+ * @since 10/16/26
+ */
+class SimulatedTrajectoryBuffer {
+    private static final int INITIAL_CAPACITY = 256;
+
+    private int size;
+    private double[] position;
+    private double[] velocity;
+    private double[] arbFeedFwd;
+    private int[] profileSlot;
+    private int[] timeDur;
+    private boolean[] isLastPoint;
+    private boolean[] zeroPos;
+
+    public SimulatedTrajectoryBuffer() {
+        position = new double[INITIAL_CAPACITY];
+        velocity = new double[INITIAL_CAPACITY];
+        arbFeedFwd = new double[INITIAL_CAPACITY];
+        profileSlot = new int[INITIAL_CAPACITY];
+        timeDur = new int[INITIAL_CAPACITY];
+        isLastPoint = new boolean[INITIAL_CAPACITY];
+        zeroPos = new boolean[INITIAL_CAPACITY];
+    }
+
+    public synchronized ErrorCode write(TrajectoryPoint point) {
+        if (size == position.length) {
+            int capacity = size * 2;
+            position = Arrays.copyOf(position, capacity);
+            velocity = Arrays.copyOf(velocity, capacity);
+            arbFeedFwd = Arrays.copyOf(arbFeedFwd, capacity);
+            profileSlot = Arrays.copyOf(profileSlot, capacity);
+            timeDur = Arrays.copyOf(timeDur, capacity);
+            isLastPoint = Arrays.copyOf(isLastPoint, capacity);
+            zeroPos = Arrays.copyOf(zeroPos, capacity);
+        }
+
+        position[size] = point.position;
+        velocity[size] = point.velocity;
+        arbFeedFwd[size] = point.arbFeedFwd;
+        profileSlot[size] = point.profileSlotSelect0;
+        timeDur[size] = point.timeDur;
+        isLastPoint[size] = point.isLastPoint;
+        zeroPos[size] = point.zeroPos;
+        size++;
+        return ErrorCode.OK;
+    }
+
+    public synchronized ErrorCode clear() {
+        size = 0;
+        return ErrorCode.OK;
+    }
+
+    /**
+     * Removes the first points, shifting the rest to the front. Used by SimulatedTalon to drop points it has run,
+     * so streaming a long profile does not keep every point.
+     */
+    public synchronized void removeFirst(int count) {
+        int remaining = size - count;
+        System.arraycopy(position, count, position, 0, remaining);
+        System.arraycopy(velocity, count, velocity, 0, remaining);
+        System.arraycopy(arbFeedFwd, count, arbFeedFwd, 0, remaining);
+        System.arraycopy(profileSlot, count, profileSlot, 0, remaining);
+        System.arraycopy(timeDur, count, timeDur, 0, remaining);
+        System.arraycopy(isLastPoint, count, isLastPoint, 0, remaining);
+        System.arraycopy(zeroPos, count, zeroPos, 0, remaining);
+        size = remaining;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    public synchronized double getPosition(int index) {
+        return position[index];
+    }
+
+    public synchronized double getVelocity(int index) {
+        return velocity[index];
+    }
+
+    public synchronized double getArbFeedFwd(int index) {
+        return arbFeedFwd[index];
+    }
+
+    public synchronized int getProfileSlot(int index) {
+        return profileSlot[index];
+    }
+
+    public synchronized int getTimeDur(int index) {
+        return timeDur[index];
+    }
+
+    public synchronized boolean isLastPoint(int index) {
+        return isLastPoint[index];
+    }
+
+    public synchronized boolean isZeroPos(int index) {
+        return zeroPos[index];
+    }
+}
@@ -0,0 +1,228 @@
+package frc.robot.util.hardware;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.ObjDoubleConsumer;
+
+import com.ctre.phoenix.ParamEnum;
+import com.ctre.phoenix.motorcontrol.FeedbackDevice;
+import com.ctre.phoenix.motorcontrol.NeutralMode;
+
+import frc.robot.RobotMap;
+
+/**
+ * The configuration a motor controller should have, declared once and applied with ConfigRegistry:
+ *
+ *      TalonConfig config = new TalonConfig()
+ *          .setNeutralMode(NeutralMode.Brake)
+ *          .configContinuousCurrentLimit(40)
+ *          .config_kP(0, 0.4);
+ *      ConfigRegistry.getInstance().apply(talon, config);
+ *
+ * Methods are named after the MotorController methods they replace. Only what is declared is applied, so a TalonConfig
+ * can describe a whole controller at boot or just the settings a command changes.
+ *
+ * Parameters are stored in the Talon's flash and can be read back. Settings (neutral mode, inversion, the selected
+ * profile slot...) are only held by the Talon until it resets and cannot be read back.
+ *
+ * @since 10/16/26
+ */
+public class TalonConfig {
+    /**
+     * A parameter stored in the Talon's flash, identified the same way as by configSetParameter()
+     */
+    public static final class Parameter {
+        private final ParamEnum param;
+        private final int ordinal;
+
+        public Parameter(ParamEnum param, int ordinal) {
+            this.param = param;
+            this.ordinal = ordinal;
+        }
+
+        public ParamEnum getParam() {
+            return param;
+        }
+
+        /**
+         * Gets the slot or PID index of the parameter, or 0 if it has none
+         */
+        public int getOrdinal() {
+            return ordinal;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Parameter && ((Parameter) other).param == param && ((Parameter) other).ordinal == ordinal;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(param, ordinal);
+        }
+
+        @Override
+        public String toString() {
+            return param + "[" + ordinal + "]";
+        }
+    }
+
+    /**
+     * A setting that the Talon does not store in flash, with how to apply it
+     */
+    public enum Setting {
+        NEUTRAL_MODE((motor, value) -> motor.setNeutralMode(NeutralMode.values()[(int) value])),
+        INVERTED((motor, value) -> motor.setInverted(value != 0)),
+        SENSOR_PHASE((motor, value) -> motor.setSensorPhase(value != 0)),
+        OVERRIDE_LIMIT_SWITCHES((motor, value) -> motor.overrideLimitSwitchesEnable(value != 0)),
+        CURRENT_LIMIT((motor, value) -> motor.enableCurrentLimit(value != 0)),
+        VOLTAGE_COMPENSATION((motor, value) -> motor.enableVoltageCompensation(value != 0)),
+        PROFILE_SLOT((motor, value) -> motor.selectProfileSlot((int) value, RobotMap.PRIMARY_INDEX));
+
+        private final ObjDoubleConsumer<MotorController> applier;
+
+        private Setting(ObjDoubleConsumer<MotorController> applier) {
+            this.applier = applier;
+        }
+
+        public void apply(MotorController motor, double value) {
+            applier.accept(motor, value);
+        }
+    }
+
+    private final Map<Parameter, Double> parameters;
+    private final Map<Setting, Double> settings;
+
+    public TalonConfig() {
+        parameters = new LinkedHashMap<>();
+        settings = new EnumMap<>(Setting.class);
+    }
+
+    /**
+     * Gets the declared parameters, in the order they were declared
+     */
+    public Map<Parameter, Double> getParameters() {
+        return Collections.unmodifiableMap(parameters);
+    }
+
+    /**
+     * Gets the declared settings
+     */
+    public Map<Setting, Double> getSettings() {
+        return Collections.unmodifiableMap(settings);
+    }
+
+    /**
+     * Declares a parameter directly, for parameters without a method here
+     */
+    public TalonConfig set(ParamEnum param, int ordinal, double value) {
+        parameters.put(new Parameter(param, ordinal), value);
+        return this;
+    }
+
+    /**
+     * Declares a setting directly
+     */
+    public TalonConfig set(Setting setting, double value) {
+        settings.put(setting, value);
+        return this;
+    }
+
+    /**
+     * Adds everything declared in another config, replacing values declared in both
+     */
+    public TalonConfig merge(TalonConfig other) {
+        parameters.putAll(other.parameters);
+        settings.putAll(other.settings);
+        return this;
+    }
+
+    public TalonConfig configSelectedFeedbackSensor(FeedbackDevice device) {
+        return set(ParamEnum.eFeedbackSensorType, RobotMap.PRIMARY_INDEX, device.value);
+    }
+
+    public TalonConfig configForwardSoftLimitEnable(boolean enable) {
+        return set(ParamEnum.eForwardSoftLimitEnable, 0, enable ? 1 : 0);
+    }
+
+    public TalonConfig configReverseSoftLimitEnable(boolean enable) {
+        return set(ParamEnum.eReverseSoftLimitEnable, 0, enable ? 1 : 0);
+    }
+
+    public TalonConfig configContinuousCurrentLimit(int amps) {
+        return set(ParamEnum.eContinuousCurrentLimitAmps, 0, amps);
+    }
+
+    public TalonConfig configPeakCurrentLimit(int amps) {
+        return set(ParamEnum.ePeakCurrentLimitAmps, 0, amps);
+    }
+
+    public TalonConfig configPeakCurrentDuration(int milliseconds) {
+        return set(ParamEnum.ePeakCurrentLimitMs, 0, milliseconds);
+    }
+
+    public TalonConfig configVoltageCompSaturation(double voltage) {
+        return set(ParamEnum.eNominalBatteryVoltage, 0, voltage);
+    }
+
+    public TalonConfig config_kP(int slot, double value) {
+        return set(ParamEnum.eProfileParamSlot_P, slot, value);
+    }
+
+    public TalonConfig config_kI(int slot, double value) {
+        return set(ParamEnum.eProfileParamSlot_I, slot, value);
+    }
+
+    public TalonConfig config_kD(int slot, double value) {
+        return set(ParamEnum.eProfileParamSlot_D, slot, value);
+    }
+
+    public TalonConfig config_kF(int slot, double value) {
+        return set(ParamEnum.eProfileParamSlot_F, slot, value);
+    }
+
+    /**
+     * Declares the time in seconds for the closed loop output to go from neutral to full
+     */
+    public TalonConfig configClosedloopRamp(double secondsFromNeutralToFull) {
+        return set(ParamEnum.eClosedloopRamp, 0, secondsFromNeutralToFull);
+    }
+
+    public TalonConfig configMotionProfileTrajectoryPeriod(int baseTrajDurationMs) {
+        return set(ParamEnum.eMotionProfileTrajectoryPeriod, 0, baseTrajDurationMs);
+    }
+
+    public TalonConfig setNeutralMode(NeutralMode mode) {
+        return set(Setting.NEUTRAL_MODE, mode.ordinal());
+    }
+
+    public TalonConfig setInverted(boolean invert) {
+        return set(Setting.INVERTED, invert ? 1 : 0);
+    }
+
+    public TalonConfig setSensorPhase(boolean phase) {
+        return set(Setting.SENSOR_PHASE, phase ? 1 : 0);
+    }
+
+    public TalonConfig overrideLimitSwitchesEnable(boolean enable) {
+        return set(Setting.OVERRIDE_LIMIT_SWITCHES, enable ? 1 : 0);
+    }
+
+    public TalonConfig enableCurrentLimit(boolean enable) {
+        return set(Setting.CURRENT_LIMIT, enable ? 1 : 0);
+    }
+
+    public TalonConfig enableVoltageCompensation(boolean enable) {
+        return set(Setting.VOLTAGE_COMPENSATION, enable ? 1 : 0);
+    }
+
+    /**
+     * Declares the slot the primary closed loop uses
+     */
+    public TalonConfig selectProfileSlot(int slot) {
+        return set(Setting.PROFILE_SLOT, slot);
+    }
+}
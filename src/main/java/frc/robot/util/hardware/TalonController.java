@@ -0,0 +1,237 @@
+package frc.robot.util.hardware;
+
+import com.ctre.phoenix.ErrorCode;
+import com.ctre.phoenix.ParamEnum;
+import com.ctre.phoenix.motion.MotionProfileStatus;
+import com.ctre.phoenix.motion.TrajectoryPoint;
+import com.ctre.phoenix.motorcontrol.ControlMode;
+import com.ctre.phoenix.motorcontrol.FeedbackDevice;
+import com.ctre.phoenix.motorcontrol.NeutralMode;
+import com.ctre.phoenix.motorcontrol.StatusFrame;
+
+import harkerrobolib.wrappers.HSTalon;
+
+/**
+ * A MotorController that passes every call through to a real Talon SRX.
+ * 
+ * @since 10/16/26
+ */
+public class TalonController implements MotorController {
+    private final HSTalon talon;
+
+    public TalonController(int deviceId) {
+        talon = new HSTalon(deviceId);
+    }
+
+    /**
+     * Gets the underlying Talon, for Phoenix features that are not part of MotorController
+     */
+    public HSTalon getTalon() {
+        return talon;
+    }
+
+    @Override
+    public ErrorCode configFactoryDefault() {
+        return talon.configFactoryDefault();
+    }
+
+    @Override
+    public ErrorCode configSetParameter(ParamEnum param, double value, int subValue, int ordinal, int timeoutMs) {
+        return talon.configSetParameter(param, value, subValue, ordinal, timeoutMs);
+    }
+
+    @Override
+    public double configGetParameter(ParamEnum param, int ordinal, int timeoutMs) {
+        return talon.configGetParameter(param, ordinal, timeoutMs);
+    }
+
+    @Override
+    public ErrorCode getLastError() {
+        return talon.getLastError();
+    }
+
+    @Override
+    public ErrorCode configSelectedFeedbackSensor(FeedbackDevice device) {
+        return talon.configSelectedFeedbackSensor(device);
+    }
+
+    @Override
+    public void setNeutralMode(NeutralMode mode) {
+        talon.setNeutralMode(mode);
+    }
+
+    @Override
+    public void setInverted(boolean invert) {
+        talon.setInverted(invert);
+    }
+
+    @Override
+    public void setSensorPhase(boolean phase) {
+        talon.setSensorPhase(phase);
+    }
+
+    @Override
+    public ErrorCode configForwardSoftLimitEnable(boolean enable) {
+        return talon.configForwardSoftLimitEnable(enable);
+    }
+
+    @Override
+    public ErrorCode configReverseSoftLimitEnable(boolean enable) {
+        return talon.configReverseSoftLimitEnable(enable);
+    }
+
+    @Override
+    public void overrideLimitSwitchesEnable(boolean enable) {
+        talon.overrideLimitSwitchesEnable(enable);
+    }
+
+    @Override
+    public ErrorCode configContinuousCurrentLimit(int amps) {
+        return talon.configContinuousCurrentLimit(amps);
+    }
+
+    @Override
+    public ErrorCode configPeakCurrentLimit(int amps) {
+        return talon.configPeakCurrentLimit(amps);
+    }
+
+    @Override
+    public ErrorCode configPeakCurrentDuration(int milliseconds) {
+        return talon.configPeakCurrentDuration(milliseconds);
+    }
+
+    @Override
+    public void enableCurrentLimit(boolean enable) {
+        talon.enableCurrentLimit(enable);
+    }
+
+    @Override
+    public ErrorCode configVoltageCompSaturation(double voltage) {
+        return talon.configVoltageCompSaturation(voltage);
+    }
+
+    @Override
+    public void enableVoltageCompensation(boolean enable) {
+        talon.enableVoltageCompensation(enable);
+    }
+
+    @Override
+    public ErrorCode config_kP(int slot, double value) {
+        return talon.config_kP(slot, value);
+    }
+
+    @Override
+    public ErrorCode config_kI(int slot, double value) {
+        return talon.config_kI(slot, value);
+    }
+
+    @Override
+    public ErrorCode config_kD(int slot, double value) {
+        return talon.config_kD(slot, value);
+    }
+
+    @Override
+    public ErrorCode config_kF(int slot, double value) {
+        return talon.config_kF(slot, value);
+    }
+
+    @Override
+    public ErrorCode configClosedloopRamp(double secondsFromNeutralToFull) {
+        return talon.configClosedloopRamp(secondsFromNeutralToFull);
+    }
+
+    @Override
+    public ErrorCode setStatusFramePeriod(StatusFrame frame, int periodMs, int timeoutMs) {
+        return talon.setStatusFramePeriod(frame, periodMs, timeoutMs);
+    }
+
+    @Override
+    public void selectProfileSlot(int slot, int pidIndex) {
+        talon.selectProfileSlot(slot, pidIndex);
+    }
+
+    @Override
+    public ErrorCode configMotionProfileTrajectoryPeriod(int baseTrajDurationMs) {
+        return talon.configMotionProfileTrajectoryPeriod(baseTrajDurationMs);
+    }
+
+    @Override
+    public void set(ControlMode mode, double value) {
+        talon.set(mode, value);
+    }
+
+    @Override
+    public ErrorCode setSelectedSensorPosition(int position) {
+        return talon.setSelectedSensorPosition(position);
+    }
+
+    @Override
+    public int getSelectedSensorPosition() {
+        return talon.getSelectedSensorPosition();
+    }
+
+    @Override
+    public int getSelectedSensorVelocity() {
+        return talon.getSelectedSensorVelocity();
+    }
+
+    @Override
+    public int getClosedLoopError() {
+        return talon.getClosedLoopError();
+    }
+
+    @Override
+    public double getOutputCurrent() {
+        return talon.getOutputCurrent();
+    }
+
+    @Override
+    public int getPulseWidthRiseToFallUs() {
+        return talon.getSensorCollection().getPulseWidthRiseToFallUs();
+    }
+
+    @Override
+    public ErrorCode pushMotionProfileTrajectory(TrajectoryPoint point) {
+        return talon.pushMotionProfileTrajectory(point);
+    }
+
+    @Override
+    public void processMotionProfileBuffer() {
+        talon.processMotionProfileBuffer();
+    }
+
+    @Override
+    public ErrorCode changeMotionControlFramePeriod(int periodMs) {
+        return talon.changeMotionControlFramePeriod(periodMs);
+    }
+
+    @Override
+    public ErrorCode getMotionProfileStatus(MotionProfileStatus status) {
+        return talon.getMotionProfileStatus(status);
+    }
+
+    @Override
+    public boolean isMotionProfileFinished() {
+        return talon.isMotionProfileFinished();
+    }
+
+    @Override
+    public ErrorCode clearMotionProfileTrajectories() {
+        return talon.clearMotionProfileTrajectories();
+    }
+
+    @Override
+    public boolean hasResetOccurred() {
+        return talon.hasResetOccurred();
+    }
+
+    @Override
+    public ErrorCode clearMotionProfileHasUnderrun() {
+        return talon.clearMotionProfileHasUnderrun(0);
+    }
+
+    @Override
+    public int getActiveTrajectoryVelocity() {
+        return talon.getActiveTrajectoryVelocity();
+    }
+}